@@ -17,14 +17,26 @@
 package io.sundr.builder;
 
 import io.sundr.codegen.functions.ClassToJavaType;
+import io.sundr.codegen.model.JavaKind;
 import io.sundr.codegen.model.JavaType;
 import io.sundr.codegen.model.JavaTypeBuilder;
 
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 import java.util.Set;
 
 import static io.sundr.codegen.utils.TypeUtils.newGeneric;
@@ -38,12 +50,20 @@ public class Constants {
     public static final String MEMBER_OF = "MEMBER_OF";
     public static final String DESCENDANT_OF = "DESCENDANT_OF";
     public static final String BODY = "BODY";
+    public static final String BUILD_CACHE_ENABLED = "BUILD_CACHE_ENABLED";
+    public static final String COMPACT_COLLECTIONS_ENABLED = "COMPACT_COLLECTIONS_ENABLED";
+    public static final String REUSABLE_ENABLED = "REUSABLE_ENABLED";
+    public static final String PRIMITIVE_STORAGE = "PRIMITIVE_STORAGE";
 
     public static final JavaType B = newGeneric("B");
     public static final JavaType T = newGeneric("T");
     public static final JavaType N = newGeneric("N");
+    public static final JavaType K = newGeneric("K");
     public static final JavaType V = newGeneric("V");
+    public static final JavaType E = newGeneric("E");
     public static final JavaType VOID = new JavaTypeBuilder().withClassName("void").build();
+    public static final JavaType BOOLEAN = new JavaTypeBuilder().withClassName("boolean").build();
+    public static final JavaType INT = new JavaTypeBuilder().withClassName("int").build();
     public static final JavaType Q = newGeneric("?");
     public static final JavaType CLASS = ClassToJavaType.FUNCTION.apply(Class.class);
     public static final JavaType OBJECT = ClassToJavaType.FUNCTION.apply(Object.class);
@@ -52,6 +72,18 @@ public class Constants {
     public static final JavaType LIST = ClassToJavaType.FUNCTION.apply(List.class);
     public static final JavaType ARRAY_LIST = ClassToJavaType.FUNCTION.apply(ArrayList.class);
     public static final JavaType SET = ClassToJavaType.FUNCTION.apply(Set.class);
+    public static final JavaType COLLECTION = ClassToJavaType.FUNCTION.apply(Collection.class);
+    public static final JavaType COLLECTIONS = ClassToJavaType.FUNCTION.apply(Collections.class);
+    public static final JavaType ABSTRACT_SET = ClassToJavaType.FUNCTION.apply(AbstractSet.class);
+    public static final JavaType ABSTRACT_LIST = ClassToJavaType.FUNCTION.apply(AbstractList.class);
+    public static final JavaType ABSTRACT_MAP = ClassToJavaType.FUNCTION.apply(AbstractMap.class);
+    public static final JavaType RANDOM_ACCESS = ClassToJavaType.FUNCTION.apply(RandomAccess.class);
+    public static final JavaType STRING = ClassToJavaType.FUNCTION.apply(String.class);
+    public static final JavaType ITERABLE = ClassToJavaType.FUNCTION.apply(Iterable.class);
+    public static final JavaType ITERATOR = ClassToJavaType.FUNCTION.apply(Iterator.class);
+    public static final JavaType NO_SUCH_ELEMENT_EXCEPTION = ClassToJavaType.FUNCTION.apply(NoSuchElementException.class);
+    public static final JavaType BIT_SET = ClassToJavaType.FUNCTION.apply(BitSet.class);
+    public static final JavaType ARRAYS = ClassToJavaType.FUNCTION.apply(Arrays.class);
     public static final JavaType LINKED_HASH_SET = ClassToJavaType.FUNCTION.apply(LinkedHashSet.class);
 
     public static final JavaType BUILDER = typeGenericOf(ClassToJavaType.FUNCTION.apply(Builder.class), T);
@@ -61,9 +93,25 @@ public class Constants {
     public static final JavaType EDITABLE = typeGenericOf(ClassToJavaType.FUNCTION.apply(Editable.class), T);
     public static final JavaType INLINEABLE = typeGenericOf(ClassToJavaType.FUNCTION.apply(Inlineable.class), T);
     public static final JavaType VISITOR = typeGenericOf(ClassToJavaType.FUNCTION.apply(Visitor.class), V);
+    public static final JavaType TYPED_VISITOR = typeGenericOf(ClassToJavaType.FUNCTION.apply(TypedVisitor.class), V);
+    public static final JavaType TRAVERSAL_VISITOR = typeGenericOf(ClassToJavaType.FUNCTION.apply(TraversalVisitor.class), V);
+    public static final JavaType TRAVERSAL = ClassToJavaType.FUNCTION.apply(Traversal.class);
+    public static final JavaType VISIT_RESULT = ClassToJavaType.FUNCTION.apply(VisitResult.class);
     public static final JavaType VISITABLE = ClassToJavaType.FUNCTION.apply(Visitable.class);
+    public static final JavaType VISITABLE_REGISTRY = ClassToJavaType.FUNCTION.apply(VisitableRegistry.class);
+    public static final JavaType COMPACT_LIST = ClassToJavaType.FUNCTION.apply(CompactList.class);
+    public static final JavaType COMPACT_SET = ClassToJavaType.FUNCTION.apply(CompactSet.class);
+    public static final JavaType REUSABLE = typeGenericOf(ClassToJavaType.FUNCTION.apply(Reusable.class), T);
+    public static final JavaType BUILDER_POOL = typeGenericOf(ClassToJavaType.FUNCTION.apply(BuilderPool.class), B);
+    public static final JavaType ARRAY_DEQUE = ClassToJavaType.FUNCTION.apply(ArrayDeque.class);
+    public static final JavaType THREAD_LOCAL = ClassToJavaType.FUNCTION.apply(ThreadLocal.class);
     public static final JavaType VISITABLE_BUILDER = typeGenericOf(ClassToJavaType.FUNCTION.apply(VisitableBuilder.class), T, V);
 
+    //Validation types are referenced by name, as the validation api is optional.
+    public static final JavaType VALIDATION = new JavaTypeBuilder().withKind(JavaKind.CLASS).withPackageName("javax.validation").withClassName("Validation").build();
+    public static final JavaType VALIDATOR = new JavaTypeBuilder().withKind(JavaKind.INTERFACE).withPackageName("javax.validation").withClassName("Validator").build();
+    public static final JavaType VALIDATOR_HOLDER = new JavaTypeBuilder().withKind(JavaKind.CLASS).withPackageName(DEFAULT_BUILDER_PACKAGE).withClassName("ValidatorHolder").build();
+
     public static final String DEFAULT_INTERFACE_TEMPLATE_LOCATION = "templates/builder/interface.vm";
     public static final String DEFAULT_CLASS_TEMPLATE_LOCATION = "templates/builder/class.vm";
     public static final String DEFAULT_FLUENT_TEMPLATE_LOCATION = "templates/builder/fluent.vm";
@@ -72,10 +120,38 @@ public class Constants {
     public static final String VALIDATING_BUILDER_TEMPLATE_LOCATION = "templates/builder/validating-builder.vm";
 
     public static final String ACCEPT_VISITOR_SNIPPET = "snippets/accept-visitor.txt";
+    public static final String ACCEPT_TYPED_VISITOR_SNIPPET = "snippets/accept-typed-visitor.txt";
+    public static final String TRAVERSE_SNIPPET = "snippets/traverse.txt";
     public static final String BUILD_LIST_SNIPPET = "snippets/build-list.txt";
     public static final String AGGREGATE_SET_SNIPPET = "snippets/aggregate-set.txt";
     public static final String AGGREGATE_LIST_SNIPPET = "snippets/aggregate-list.txt";
+    public static final String BUILD_COMPACT_LIST_SNIPPET = "snippets/build-compact-list.txt";
+    public static final String COMPACT_LIST_SNIPPET = "snippets/compact-list.txt";
+    public static final String COMPACT_ARRAY_SNIPPET = "snippets/compact-array.txt";
+    public static final String COMPACT_SET_SNIPPET = "snippets/compact-set.txt";
+    public static final String COMPACT_MAP_SNIPPET = "snippets/compact-map.txt";
+    public static final String MATERIALIZE_SNIPPET = "snippets/materialize.txt";
+    public static final String INVALIDATING_LIST_SNIPPET = "snippets/invalidating-list.txt";
+    public static final String INVALIDATING_SET_SNIPPET = "snippets/invalidating-set.txt";
+    public static final String INVALIDATING_MAP_SNIPPET = "snippets/invalidating-map.txt";
+    public static final String RESET_SNIPPET = "snippets/reset.txt";
+    public static final String BUILDER_POOL_ACQUIRE_SNIPPET = "snippets/builder-pool-acquire.txt";
+    public static final String BUILDER_POOL_RELEASE_SNIPPET = "snippets/builder-pool-release.txt";
+    public static final String BUILDER_POOL_POOL_SNIPPET = "snippets/builder-pool-pool.txt";
     public static final String BUILD_SET_SNIPPET = "snippets/build-set.txt";
     public static final String ARRAY_GETTER_SNIPPET = "snippets/array-getter.txt";
+    public static final String PRIMITIVE_ARRAY_ADD_SNIPPET = "snippets/primitive-array-add.txt";
+    public static final String PRIMITIVE_ARRAY_GROW_SNIPPET = "snippets/primitive-array-grow.txt";
+    public static final String PRIMITIVE_LIST_VIEW_SNIPPET = "snippets/primitive-list-view.txt";
+    public static final String GET_VALIDATOR_SNIPPET = "snippets/get-validator.txt";
+    public static final String SET_VALIDATOR_SNIPPET = "snippets/set-validator.txt";
+    public static final String INVALIDATE_SNIPPET = "snippets/invalidate.txt";
+    public static final String ATTACH_SNIPPET = "snippets/attach.txt";
+    public static final String VISITABLE_REGISTRY_LIST_OF_SNIPPET = "snippets/visitable-registry-list-of.txt";
+    public static final String VISITABLE_REGISTRY_ITERATOR_SNIPPET = "snippets/visitable-registry-iterator.txt";
+    public static final String VISITABLE_REGISTRY_REMOVE_SNIPPET = "snippets/visitable-registry-remove.txt";
+    public static final String VISITABLE_REGISTRY_PUSH_TO_SNIPPET = "snippets/visitable-registry-push-to.txt";
+
+    public static final String BUILDABLES_INDEX_LOCATION = "META-INF/sundrio/buildables.index";
 
 }
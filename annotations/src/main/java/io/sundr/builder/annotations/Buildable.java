@@ -24,11 +24,30 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 @Target(ElementType.CONSTRUCTOR)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Buildable {
 
     boolean editableEnabled() default true;
     boolean validationEnabled() default false;
+
+    /**
+     * When enabled, builders return the same instance from subsequent calls to build(), until they are modified.
+     * Getters of map, list and set properties return a view of the collection of the builder. Modifying the view
+     * discards the cached instance, reading it doesn't.
+     */
+    boolean buildCacheEnabled() default false;
+
+    /**
+     * When enabled, builders pass compact, immutable lists, sets and maps to the constructor of the object they build.
+     * Lists of nested builders are built straight into such a list, which is also what their getters return.
+     */
+    boolean compactCollectionsEnabled() default false;
+
+    /**
+     * When enabled, builders implement Reusable, so that they can be reset and kept in a BuilderPool.
+     */
+    boolean reusable() default false;
+
     String builderPackage() default Constants.DEFAULT_BUILDER_PACKAGE;
     Inline[] inline() default {};
 }
@@ -16,18 +16,26 @@
 
 package io.sundr.builder.internal;
 
+import io.sundr.Function;
+import io.sundr.codegen.model.JavaType;
+
 import javax.lang.model.element.TypeElement;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 
 public class BuildableRepository {
 
     private final Set<TypeElement> buildables = new LinkedHashSet<TypeElement>();
+    private int version;
+    private Map<String, Set<JavaType>> descendants;
+    private int indexedVersion = -1;
 
     public void register(TypeElement buildable) {
-        if (buildable != null) {
-            buildables.add(buildable);
+        if (buildable != null && buildables.add(buildable)) {
+            version++;
         }
     }
 
@@ -39,7 +47,56 @@ public class BuildableRepository {
         return buildable != null && buildables.contains(buildable);
     }
 
+    /**
+     * Returns a number that changes every time the set of buildables changes.
+     * @return  The version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the buildables that are descendants of the specified type, indexed by the fully qualified name of each
+     * one of their supertypes (including the type itself). The index is built once, after the buildables have been
+     * registered, and is rebuilt on first use after the set of buildables changes.
+     * @param toType    The function that converts the buildables to {@link JavaType}.
+     * @return          An unmodifiable map from supertype to its buildable descendants.
+     */
+    public synchronized Map<String, Set<JavaType>> getDescendants(Function<String, JavaType> toType) {
+        if (descendants == null || indexedVersion != version) {
+            Map<String, Set<JavaType>> index = new HashMap<String, Set<JavaType>>();
+            for (TypeElement element : buildables) {
+                JavaType type = toType.apply(element.toString());
+                for (String supertype : getSupertypes(type, new LinkedHashSet<String>())) {
+                    Set<JavaType> types = index.get(supertype);
+                    if (types == null) {
+                        types = new LinkedHashSet<JavaType>();
+                        index.put(supertype, types);
+                    }
+                    types.add(type);
+                }
+            }
+            for (Map.Entry<String, Set<JavaType>> entry : index.entrySet()) {
+                entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+            }
+            descendants = Collections.unmodifiableMap(index);
+            indexedVersion = version;
+        }
+        return descendants;
+    }
+
+    private static Set<String> getSupertypes(JavaType type, Set<String> result) {
+        if (type != null && result.add(type.getFullyQualifiedName())) {
+            getSupertypes(type.getSuperClass(), result);
+            for (JavaType interfaceType : type.getInterfaces()) {
+                getSupertypes(interfaceType, result);
+            }
+        }
+        return result;
+    }
+
     public void clear() {
         buildables.clear();
+        version++;
     }
 }
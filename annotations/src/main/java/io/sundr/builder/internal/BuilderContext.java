@@ -21,6 +21,7 @@ import io.sundr.builder.annotations.Inline;
 import io.sundr.builder.internal.functions.overrides.ToBuildableJavaProperty;
 import io.sundr.builder.internal.functions.overrides.ToBuildableJavaType;
 import io.sundr.codegen.coverters.JavaClazzFunction;
+import io.sundr.codegen.coverters.JavaTypeCache;
 import io.sundr.codegen.coverters.JavaMethodFunction;
 import io.sundr.codegen.model.JavaClazz;
 import io.sundr.codegen.model.JavaClazzBuilder;
@@ -60,7 +61,7 @@ public class BuilderContext {
 
     private final Elements elements;
             
-    private final Function<String, JavaType> toType;
+    private final ToBuildableJavaType toType;
     private final Function<VariableElement, JavaProperty> toProperty;
     private final JavaMethodFunction toMethod;
     private final JavaClazzFunction toClazz;
@@ -73,7 +74,17 @@ public class BuilderContext {
     private final JavaClazz visitableInterface;
     private final JavaClazz visitableBuilderInterface;
     private final JavaClazz visitorInterface;
+    private final JavaClazz typedVisitorInterface;
+    private final JavaClazz traversalVisitorInterface;
+    private final JavaClazz traversalClass;
+    private final JavaClazz visitResultClass;
+    private final JavaClazz visitableRegistryClass;
+    private final JavaClazz compactListClass;
+    private final JavaClazz compactSetClass;
+    private final JavaClazz reusableInterface;
+    private final JavaClazz builderPoolClass;
     private final JavaClazz inlineableBase;
+    private final JavaClazz validatorHolderClass;
     private final String targetPackage;
     private final Inline[] inlineables;
     private final BuildableRepository repository;
@@ -110,6 +121,42 @@ public class BuilderContext {
 
         JavaType visitorBase = unwrapGeneric(visitorInterface.getType());
 
+        typedVisitorInterface = new JavaClazzBuilder()
+                .withNewType()
+                .withKind(JavaKind.INTERFACE)
+                .withPackageName(targetPackage)
+                .withClassName(TYPED_VISITOR.getClassName())
+                .withGenericTypes(TYPED_VISITOR.getGenericTypes())
+                .addToInterfaces(visitorInterface.getType())
+                .and()
+                .addNewMethod()
+                .withReturnType(typeGenericOf(CLASS, V))
+                .withName("getType")
+                .and()
+                .build();
+
+        JavaType typedVisitorBase = unwrapGeneric(typedVisitorInterface.getType());
+
+        traversalClass = constantsClazz(targetPackage, TRAVERSAL.getClassName(), "PRE_ORDER", "POST_ORDER");
+        visitResultClass = constantsClazz(targetPackage, VISIT_RESULT.getClassName(), "CONTINUE", "SKIP_SUBTREE", "TERMINATE");
+
+        traversalVisitorInterface = new JavaClazzBuilder()
+                .withNewType()
+                .withKind(JavaKind.INTERFACE)
+                .withPackageName(targetPackage)
+                .withClassName(TRAVERSAL_VISITOR.getClassName())
+                .withGenericTypes(TRAVERSAL_VISITOR.getGenericTypes())
+                .and()
+                .addNewMethod()
+                .withReturnType(visitResultClass.getType())
+                .withName("visit")
+                .addNewArgument()
+                .withName("element")
+                .withType(V)
+                .endArgument()
+                .and()
+                .build();
+
         visitableInterface = new JavaClazzBuilder()
                 .withNewType()
                 .withKind(JavaKind.INTERFACE)
@@ -152,6 +199,272 @@ public class BuilderContext {
                 .and()
                 .build();
 
+        JavaType visitableList = typeGenericOf(LIST, visitableBase);
+
+        visitableRegistryClass = new JavaClazzBuilder()
+                .withNewType()
+                .withKind(JavaKind.CLASS)
+                .withPackageName(targetPackage)
+                .withClassName(VISITABLE_REGISTRY.getClassName())
+                .addToInterfaces(typeGenericOf(ITERABLE, visitableBase))
+                .and()
+                .addToImports(LINKED_HASH_MAP)
+                .addToImports(LIST)
+                .addToImports(ARRAY_LIST)
+                .addToImports(COLLECTIONS)
+                .addToImports(ITERATOR)
+                .addToImports(NO_SUCH_ELEMENT_EXCEPTION)
+                .addNewField()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .addToModifiers(Modifier.FINAL)
+                    .withName("visitables")
+                    .withType(new JavaTypeBuilder(typeGenericOf(MAP, STRING, visitableList))
+                            .withDefaultImplementation(LINKED_HASH_MAP)
+                            .build())
+                .and()
+                .addNewField()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .addToModifiers(Modifier.FINAL)
+                    .withName("lists")
+                    .withType(new JavaTypeBuilder(typeGenericOf(LIST, visitableList))
+                            .withDefaultImplementation(ARRAY_LIST)
+                            .build())
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("listOf")
+                    .withReturnType(visitableList)
+                    .addNewArgument()
+                        .withType(STRING)
+                        .withName("property")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(VISITABLE_REGISTRY_LIST_OF_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("remove")
+                    .withReturnType(VOID)
+                    .addNewArgument()
+                        .withType(STRING)
+                        .withName("property")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(VISITABLE_REGISTRY_REMOVE_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("clear")
+                    .withReturnType(VOID)
+                    .addToAttributes(BODY, "visitables.clear(); lists.clear();")
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("values")
+                    .withReturnType(typeGenericOf(COLLECTION, visitableList))
+                    .addToAttributes(BODY, "return Collections.unmodifiableList(lists);")
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("pushTo")
+                    .withReturnType(VOID)
+                    .addNewArgument()
+                        .withType(visitableList)
+                        .withName("stack")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(VISITABLE_REGISTRY_PUSH_TO_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("iterator")
+                    .withReturnType(typeGenericOf(ITERATOR, visitableBase))
+                    .addToAttributes(BODY, loadResourceQuietly(VISITABLE_REGISTRY_ITERATOR_SNIPPET))
+                .and()
+                .build();
+
+        compactListClass = new JavaClazzBuilder()
+                .withNewType()
+                .withKind(JavaKind.CLASS)
+                .withPackageName(targetPackage)
+                .withClassName(COMPACT_LIST.getClassName())
+                .withGenericTypes(new JavaType[]{T})
+                .withSuperClass(typeGenericOf(ABSTRACT_LIST, T))
+                .addToInterfaces(RANDOM_ACCESS)
+                .and()
+                .addToImports(ABSTRACT_LIST)
+                .addToImports(RANDOM_ACCESS)
+                .addNewField()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .addToModifiers(Modifier.FINAL)
+                    .withName("elements")
+                    .withType(new JavaTypeBuilder(OBJECT).withArray(true).build())
+                .and()
+                .addNewConstructor()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("")
+                    .withReturnType(COMPACT_LIST)
+                    .addNewArgument()
+                        .withType(new JavaTypeBuilder(OBJECT).withArray(true).build())
+                        .withName("elements")
+                    .endArgument()
+                    .addToAttributes(BODY, "this.elements = elements;")
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("get")
+                    .withReturnType(T)
+                    .addNewArgument()
+                        .withType(INT)
+                        .withName("index")
+                    .endArgument()
+                    .addToAttributes(BODY, "return (T) elements[index];")
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("size")
+                    .withReturnType(INT)
+                    .addToAttributes(BODY, "return elements.length;")
+                .and()
+                .build();
+
+        compactSetClass = new JavaClazzBuilder()
+                .withNewType()
+                .withKind(JavaKind.CLASS)
+                .withPackageName(targetPackage)
+                .withClassName(COMPACT_SET.getClassName())
+                .withGenericTypes(new JavaType[]{T})
+                .withSuperClass(typeGenericOf(ABSTRACT_SET, T))
+                .and()
+                .addToImports(ABSTRACT_SET)
+                .addToImports(ARRAYS)
+                .addToImports(ITERATOR)
+                .addNewField()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .addToModifiers(Modifier.FINAL)
+                    .withName("elements")
+                    .withType(new JavaTypeBuilder(OBJECT).withArray(true).build())
+                .and()
+                .addNewConstructor()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("")
+                    .withReturnType(COMPACT_SET)
+                    .addNewArgument()
+                        .withType(new JavaTypeBuilder(OBJECT).withArray(true).build())
+                        .withName("elements")
+                    .endArgument()
+                    .addToAttributes(BODY, "this.elements = elements;")
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("iterator")
+                    .withReturnType(typeGenericOf(ITERATOR, T))
+                    .addToAttributes(BODY, "return (Iterator<T>) Arrays.asList(elements).iterator();")
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("size")
+                    .withReturnType(INT)
+                    .addToAttributes(BODY, "return elements.length;")
+                .and()
+                .build();
+
+        reusableInterface = new JavaClazzBuilder()
+                .withNewType()
+                .withKind(JavaKind.INTERFACE)
+                .withPackageName(targetPackage)
+                .withClassName(REUSABLE.getClassName())
+                .withGenericTypes(REUSABLE.getGenericTypes())
+                .and()
+                .addNewMethod()
+                .withReturnType(T)
+                .withName("reset")
+                .and()
+                .build();
+
+        JavaType pooledBuilder = typeExtends(B, typeGenericOf(reusableInterface.getType(), B));
+        JavaType builderPoolType = new JavaTypeBuilder()
+                .withKind(JavaKind.CLASS)
+                .withPackageName(targetPackage)
+                .withClassName(BUILDER_POOL.getClassName())
+                .withGenericTypes(new JavaType[]{pooledBuilder})
+                .build();
+        JavaType builderPoolBase = unwrapGeneric(builderPoolType);
+
+        builderPoolClass = new JavaClazzBuilder()
+                .withType(builderPoolType)
+                .addToImports(ARRAY_DEQUE)
+                .addNewField()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .addToModifiers(Modifier.FINAL)
+                    .withName("type")
+                    .withType(typeGenericOf(CLASS, B))
+                .and()
+                .addNewField()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .addToModifiers(Modifier.FINAL)
+                    .withName("capacity")
+                    .withType(INT)
+                .and()
+                .addNewField()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .addToModifiers(Modifier.FINAL)
+                    .withName("pools")
+                    .withType(new JavaTypeBuilder(typeGenericOf(THREAD_LOCAL, typeGenericOf(ARRAY_DEQUE, B)))
+                            .withDefaultImplementation(THREAD_LOCAL)
+                            .build())
+                .and()
+                .addNewConstructor()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("")
+                    .withReturnType(builderPoolBase)
+                    .addNewArgument()
+                        .withType(typeGenericOf(CLASS, B))
+                        .withName("type")
+                    .endArgument()
+                    .addToAttributes(BODY, "this(type, 16);")
+                .and()
+                .addNewConstructor()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("")
+                    .withReturnType(builderPoolBase)
+                    .addNewArgument()
+                        .withType(typeGenericOf(CLASS, B))
+                        .withName("type")
+                    .endArgument()
+                    .addNewArgument()
+                        .withType(INT)
+                        .withName("capacity")
+                    .endArgument()
+                    .addToAttributes(BODY, "this.type = type; this.capacity = capacity;")
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("acquire")
+                    .withReturnType(B)
+                    .addToAttributes(BODY, loadResourceQuietly(BUILDER_POOL_ACQUIRE_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("release")
+                    .withReturnType(VOID)
+                    .addNewArgument()
+                        .withType(B)
+                        .withName("builder")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(BUILDER_POOL_RELEASE_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .withName("pool")
+                    .withReturnType(typeGenericOf(ARRAY_DEQUE, B))
+                    .addToAttributes(BODY, loadResourceQuietly(BUILDER_POOL_POOL_SNIPPET))
+                .and()
+                .build();
+
+        JavaType baseFluentBase = new JavaTypeBuilder()
+                .withKind(JavaKind.CLASS)
+                .withPackageName(targetPackage)
+                .withClassName(BASE_FLUENT.getClassName())
+                .build();
+
         baseFluentClass = new JavaClazzBuilder()
                 .withNewType()
                 .withKind(JavaKind.CLASS)
@@ -161,6 +474,13 @@ public class BuilderContext {
                 .addToInterfaces(fluentInterface.getType())
                 .addToInterfaces(typeGenericOf(visitableInterface.getType(),T))
                 .and()
+                .addToImports(BIT_SET)
+                .addToImports(COLLECTIONS)
+                .addToImports(LINKED_HASH_MAP)
+                .addToImports(ABSTRACT_LIST)
+                .addToImports(ABSTRACT_SET)
+                .addToImports(ABSTRACT_MAP)
+                .addToImports(ITERATOR)
                 .addNewMethod()
                     .addToTypeParameters(T)
                     .addToModifiers(Modifier.PUBLIC)
@@ -205,6 +525,62 @@ public class BuilderContext {
                     .endArgument()
                     .addToAttributes(BODY, loadResourceQuietly(AGGREGATE_SET_SNIPPET))
                 .and()
+                .addNewMethod()
+                    .addToTypeParameters(T)
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("buildCompact")
+                    .withReturnType(typeGenericOf(LIST, T))
+                    .addNewArgument()
+                        .withType(typeGenericOf(LIST, typeExtends(Q, typeGenericOf(builderInterface.getType(), typeExtends(Q, T)))))
+                        .withName("...lists")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(BUILD_COMPACT_LIST_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToTypeParameters(T)
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("compact")
+                    .withReturnType(typeGenericOf(LIST, T))
+                    .addNewArgument()
+                        .withType(typeGenericOf(LIST, typeExtends(Q, T)))
+                        .withName("list")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(COMPACT_LIST_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToTypeParameters(T)
+                    .addToModifiers(Modifier.PRIVATE)
+                    .withName("compact")
+                    .withReturnType(typeGenericOf(LIST, T))
+                    .addNewArgument()
+                        .withType(new JavaTypeBuilder(OBJECT).withArray(true).build())
+                        .withName("elements")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(COMPACT_ARRAY_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToTypeParameters(T)
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("compact")
+                    .withReturnType(typeGenericOf(SET, T))
+                    .addNewArgument()
+                        .withType(typeGenericOf(SET, typeExtends(Q, T)))
+                        .withName("set")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(COMPACT_SET_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToTypeParameters(K)
+                    .addToTypeParameters(V)
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("compact")
+                    .withReturnType(typeGenericOf(MAP, K, V))
+                    .addNewArgument()
+                        .withType(typeGenericOf(MAP, typeExtends(Q, K), typeExtends(Q, V)))
+                        .withName("map")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(COMPACT_MAP_SNIPPET))
+                .and()
                 .addNewMethod()
                     .addToModifiers(Modifier.PUBLIC)
                     .withName("accept")
@@ -215,14 +591,164 @@ public class BuilderContext {
                     .endArgument()
                 .addToAttributes(BODY, loadResourceQuietly(ACCEPT_VISITOR_SNIPPET))
                 .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .withName("accept")
+                    .withReturnType(T)
+                    .addNewArgument()
+                        .withType(typedVisitorBase)
+                        .withName("visitor")
+                    .endArgument()
+                .addToAttributes(BODY, loadResourceQuietly(ACCEPT_TYPED_VISITOR_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("traverse")
+                    .withReturnType(T)
+                    .addNewArgument()
+                        .withType(unwrapGeneric(traversalVisitorInterface.getType()))
+                        .withName("visitor")
+                    .endArgument()
+                    .addNewArgument()
+                        .withType(traversalClass.getType())
+                        .withName("order")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(TRAVERSE_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PROTECTED)
+                    .withName("_canVisit")
+                    .withReturnType(BOOLEAN)
+                    .addNewArgument()
+                        .withType(typeGenericOf(CLASS, Q))
+                        .withName("type")
+                    .endArgument()
+                    .addToAttributes(BODY, "return true;")
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("_getBuilt")
+                    .withReturnType(OBJECT)
+                    .addToAttributes(BODY, "return _built;")
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("_setBuilt")
+                    .withReturnType(VOID)
+                    .addNewArgument()
+                        .withType(OBJECT)
+                        .withName("built")
+                    .endArgument()
+                    .addToAttributes(BODY, "this._built = built;")
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PROTECTED)
+                    .withName("_invalidate")
+                    .withReturnType(VOID)
+                    .addToAttributes(BODY, loadResourceQuietly(INVALIDATE_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToTypeParameters(E)
+                    .addToModifiers(Modifier.PROTECTED)
+                    .withName("_invalidating")
+                    .withReturnType(typeGenericOf(LIST, E))
+                    .addNewArgument()
+                        .addToModifiers(Modifier.FINAL)
+                        .withType(typeGenericOf(LIST, E))
+                        .withName("list")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(INVALIDATING_LIST_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToTypeParameters(E)
+                    .addToModifiers(Modifier.PROTECTED)
+                    .withName("_invalidating")
+                    .withReturnType(typeGenericOf(SET, E))
+                    .addNewArgument()
+                        .addToModifiers(Modifier.FINAL)
+                        .withType(typeGenericOf(SET, E))
+                        .withName("set")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(INVALIDATING_SET_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToTypeParameters(K)
+                    .addToTypeParameters(V)
+                    .addToModifiers(Modifier.PROTECTED)
+                    .withName("_invalidating")
+                    .withReturnType(typeGenericOf(MAP, K, V))
+                    .addNewArgument()
+                        .addToModifiers(Modifier.FINAL)
+                        .withType(typeGenericOf(MAP, K, V))
+                        .withName("map")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(INVALIDATING_MAP_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("_reset")
+                    .withReturnType(VOID)
+                    .addToAttributes(BODY, loadResourceQuietly(RESET_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("_fork")
+                    .withReturnType(VOID)
+                    .addNewArgument()
+                        .withType(OBJECT)
+                        .withName("source")
+                    .endArgument()
+                    .addToAttributes(BODY, "this._source = source;")
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PROTECTED)
+                    .withName("_materialize")
+                    .withReturnType(VOID)
+                    .addToAttributes(BODY, loadResourceQuietly(MATERIALIZE_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PROTECTED)
+                    .withName("_copy")
+                    .withReturnType(VOID)
+                    .addNewArgument()
+                        .withType(OBJECT)
+                        .withName("source")
+                    .endArgument()
+                    .addToAttributes(BODY, "")
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PROTECTED)
+                    .withName("_attach")
+                    .withReturnType(VOID)
+                    .addNewArgument()
+                        .withType(OBJECT)
+                        .withName("child")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(ATTACH_SNIPPET))
+                .and()
                 .addNewField()
                     .addToModifiers(Modifier.PUBLIC)
                     .addToModifiers(Modifier.FINAL)
                     .withName("_visitables")
-                    .withType(new JavaTypeBuilder(typeGenericOf(LIST, visitableBase))
-                            .withDefaultImplementation(typeGenericOf(ARRAY_LIST, visitableBase))
+                    .withType(new JavaTypeBuilder(visitableRegistryClass.getType())
+                            .withDefaultImplementation(visitableRegistryClass.getType())
                             .build())
                 .and()
+                .addNewField()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .withName("_parent")
+                    .withType(typeGenericOf(baseFluentBase, Q))
+                .and()
+                .addNewField()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .withName("_built")
+                    .withType(OBJECT)
+                .and()
+                .addNewField()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .withName("_source")
+                    .withType(OBJECT)
+                .and()
                 .build();
 
         nestedInterface = new JavaClazzBuilder()
@@ -274,6 +800,71 @@ public class BuilderContext {
                 .withName("inline")
                 .and()
                 .build();
+
+        validatorHolderClass = new JavaClazzBuilder()
+                .withNewType()
+                .withKind(JavaKind.CLASS)
+                .withPackageName(targetPackage)
+                .withClassName(VALIDATOR_HOLDER.getClassName())
+                .and()
+                .addToImports(VALIDATION)
+                .addNewField()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .addToModifiers(Modifier.STATIC)
+                    .addToModifiers(Modifier.VOLATILE)
+                    .withName("validator")
+                    .withType(VALIDATOR)
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .addToModifiers(Modifier.STATIC)
+                    .withName("getValidator")
+                    .withReturnType(VALIDATOR)
+                    .addToAttributes(BODY, loadResourceQuietly(GET_VALIDATOR_SNIPPET))
+                .and()
+                .addNewMethod()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .addToModifiers(Modifier.STATIC)
+                    .withName("setValidator")
+                    .withReturnType(VOID)
+                    .addNewArgument()
+                        .withType(VALIDATOR)
+                        .withName("validator")
+                    .endArgument()
+                    .addToAttributes(BODY, loadResourceQuietly(SET_VALIDATOR_SNIPPET))
+                .and()
+                .build();
+    }
+
+    /**
+     * Creates a class with a constant for each of the specified names, as enums cannot be generated.
+     */
+    private static JavaClazz constantsClazz(String packageName, String className, String... constants) {
+        JavaType type = new JavaTypeBuilder()
+                .withKind(JavaKind.CLASS)
+                .withPackageName(packageName)
+                .withClassName(className)
+                .build();
+
+        JavaClazzBuilder builder = new JavaClazzBuilder()
+                .withType(type)
+                .addNewConstructor()
+                    .addToModifiers(Modifier.PRIVATE)
+                    .withName("")
+                    .withReturnType(type)
+                    .addToAttributes(BODY, "")
+                .and();
+
+        for (String constant : constants) {
+            builder.addNewField()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .addToModifiers(Modifier.STATIC)
+                    .addToModifiers(Modifier.FINAL)
+                    .withName(constant)
+                    .withType(new JavaTypeBuilder(type).withDefaultImplementation(type).build())
+                    .and();
+        }
+        return builder.build();
     }
 
     public Elements getElements() {
@@ -316,10 +907,55 @@ public class BuilderContext {
         return visitorInterface;
     }
 
+    public JavaClazz getTraversalVisitorInterface() {
+        return traversalVisitorInterface;
+    }
+
+    public JavaClazz getTraversalClass() {
+        return traversalClass;
+    }
+
+    public JavaClazz getVisitResultClass() {
+        return visitResultClass;
+    }
+
+    public JavaClazz getTypedVisitorInterface() {
+        return typedVisitorInterface;
+    }
+
+    public JavaClazz getVisitableRegistryClass() {
+        return visitableRegistryClass;
+    }
+
+    public JavaClazz getCompactListClass() {
+        return compactListClass;
+    }
+
+    public JavaClazz getCompactSetClass() {
+        return compactSetClass;
+    }
+
+    public JavaClazz getReusableInterface() {
+        return reusableInterface;
+    }
+
+    public JavaClazz getBuilderPoolClass() {
+        return builderPoolClass;
+    }
+
     public JavaClazz getInlineableBase() {
         return inlineableBase;
     }
 
+    /**
+     * Returns the class that holds the validator shared by validating builders.
+     * Only generated for builders that have validation enabled, as it depends on the validation api.
+     * @return  The validator holder class.
+     */
+    public JavaClazz getValidatorHolderClass() {
+        return validatorHolderClass;
+    }
+
     public JavaClazz getInlineableInterface(Inline inline) {
         return new JavaClazzBuilder()
                 .withNewType()
@@ -343,6 +979,22 @@ public class BuilderContext {
         return repository;
     }
 
+    /**
+     * Returns the type cache that is shared with all other contexts that use the same {@link Elements}.
+     * @return  The type cache.
+     */
+    public JavaTypeCache getTypeCache() {
+        return JavaTypeCache.forElements(elements);
+    }
+
+    /**
+     * Returns the cache of types that have been decorated with buildable information.
+     * @return  The buildable type cache.
+     */
+    public JavaTypeCache getBuildableTypeCache() {
+        return toType.getCache();
+    }
+
     public Function<String, JavaType> getToType() {
         return toType;
     }
@@ -25,23 +25,41 @@ import io.sundr.codegen.model.JavaMethodBuilder;
 import io.sundr.codegen.model.JavaProperty;
 import io.sundr.codegen.model.JavaPropertyBuilder;
 import io.sundr.codegen.model.JavaType;
+import io.sundr.codegen.model.JavaTypeBuilder;
 import io.sundr.codegen.utils.StringUtils;
 
 import javax.lang.model.element.Modifier;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import static io.sundr.builder.Constants.ABSTRACT_LIST;
+import static io.sundr.builder.Constants.ARRAYS;
 import static io.sundr.builder.Constants.BODY;
+import static io.sundr.builder.Constants.BOOLEAN;
+import static io.sundr.builder.Constants.BUILD_CACHE_ENABLED;
+import static io.sundr.builder.Constants.CLASS;
+import static io.sundr.builder.Constants.COMPACT_COLLECTIONS_ENABLED;
+import static io.sundr.builder.Constants.INT;
 import static io.sundr.builder.Constants.MEMBER_OF;
+import static io.sundr.builder.Constants.OBJECT;
+import static io.sundr.builder.Constants.PRIMITIVE_STORAGE;
+import static io.sundr.builder.Constants.Q;
+import static io.sundr.builder.Constants.REUSABLE_ENABLED;
+import static io.sundr.builder.Constants.VOID;
 import static io.sundr.builder.internal.utils.BuilderUtils.BUILDABLE;
 import static io.sundr.builder.internal.utils.BuilderUtils.findBuildableConstructor;
 import static io.sundr.builder.internal.utils.BuilderUtils.findGetter;
 import static io.sundr.builder.internal.utils.BuilderUtils.getPropertyBuildableAncestors;
+import static io.sundr.builder.internal.utils.BuilderUtils.getReachableBuildables;
 import static io.sundr.builder.internal.utils.BuilderUtils.hasDefaultConstructor;
 import static io.sundr.builder.internal.utils.BuilderUtils.isBuildable;
 import static io.sundr.builder.internal.utils.BuilderUtils.isList;
 import static io.sundr.builder.internal.utils.BuilderUtils.isMap;
+import static io.sundr.builder.internal.utils.BuilderUtils.isPrimitive;
+import static io.sundr.builder.internal.utils.BuilderUtils.isPrimitiveList;
 import static io.sundr.builder.internal.utils.BuilderUtils.isSet;
+import static io.sundr.builder.internal.utils.BuilderUtils.unboxed;
 import static io.sundr.codegen.utils.TypeUtils.typeGenericOf;
 
 public enum ClazzAs implements Function<JavaClazz, JavaClazz> {
@@ -53,22 +71,64 @@ public enum ClazzAs implements Function<JavaClazz, JavaClazz> {
             Set<JavaClazz> nestedClazzes = new LinkedHashSet<JavaClazz>();
             Set<JavaProperty> properties = new LinkedHashSet<JavaProperty>();
 
+            Set<JavaType> imports = new LinkedHashSet<JavaType>(item.getImports());
+            Set<String> exposed = new HashSet<String>();
+
             JavaType fluentType = TypeAs.FLUENT.apply(item.getType());
             for (JavaProperty property : item.getFields()) {
                 JavaProperty toAdd = property;
                 boolean buildable = (Boolean) property.getType().getAttributes().get(BUILDABLE);
-                if (property.isArray()) {
+                if (property.isArray() && isPrimitive(property.getType())) {
+                    methods.add(ToMethod.WITH_PRIMITIVE_ARRAY.apply(property));
+                    methods.add(ToMethod.GETTER_PRIMITIVE_ARRAY.apply(property));
+                    methods.add(ToMethod.ADD_TO_PRIMITIVE_ARRAY.apply(property));
+                    properties.add(property);
+                    properties.add(new JavaPropertyBuilder().withType(INT).withName(ToMethod.sizeOf(property)).build());
+                    imports.add(ARRAYS);
+                    continue;
+                } else if (isPrimitiveList(property)) {
+                    //Lists of wrapper types are kept in an array of the primitive type, behind the same methods.
+                    toAdd = new JavaPropertyBuilder(property).addToAttributes(PRIMITIVE_STORAGE, true).build();
+                    methods.add(ToMethod.ADD_TO_COLLECTION.apply(toAdd));
+                    methods.add(ToMethod.ADD_PRIMITIVES_TO_COLLECTION.apply(toAdd));
+                    methods.add(ToMethod.ADD_ALL_TO_COLLECTION.apply(toAdd));
+                    methods.add(ToMethod.WITH_EXPECTED_SIZE.apply(toAdd));
+                    methods.add(ToMethod.GETTER.apply(toAdd));
+                    methods.add(ToMethod.WITH.apply(toAdd));
+                    methods.add(ToMethod.WITH_ARRAY.apply(toAdd));
+                    JavaType primitive = unboxed(TypeAs.UNWRAP_COLLECTION_OF.apply(property.getType()));
+                    properties.add(new JavaPropertyBuilder().withType(new JavaTypeBuilder(primitive).withArray(true).build()).withArray(true).withName(property.getName()).build());
+                    properties.add(new JavaPropertyBuilder().withType(INT).withName(ToMethod.sizeOf(property)).build());
+                    imports.add(ARRAYS);
+                    imports.add(ABSTRACT_LIST);
+                    continue;
+                } else if (property.isArray()) {
                     JavaProperty asList = arrayAsList(property, buildable);
                     methods.add(ToMethod.WITH_ARRAY.apply(property));
                     methods.add(ToMethod.GETTER_ARRAY.apply(property));
                     methods.add(ToMethod.ADD_TO_COLLECTION.apply(asList));
+                    methods.add(ToMethod.ADD_ALL_TO_COLLECTION.apply(asList));
+                    if (getPropertyBuildableAncestors(asList).isEmpty()) {
+                        methods.add(ToMethod.WITH_EXPECTED_SIZE.apply(asList));
+                    }
                     toAdd = asList;
                 } else if (isSet(property.getType()) || isList(property.getType())) {
                     methods.add(ToMethod.ADD_TO_COLLECTION.apply(toAdd));
-                    methods.add(ToMethod.GETTER.apply(toAdd));
+                    methods.add(ToMethod.ADD_ALL_TO_COLLECTION.apply(toAdd));
+                    //Sets exposed by their getter can't be presized, as that would replace them.
+                    if (getPropertyBuildableAncestors(toAdd).isEmpty() && (isList(toAdd.getType()) || isBuildable(toAdd))) {
+                        methods.add(ToMethod.WITH_EXPECTED_SIZE.apply(toAdd));
+                    }
+                    methods.add(ToMethod.GETTER.apply(isCompactCollectionsEnabled(item) && isList(toAdd.getType())
+                            ? new JavaPropertyBuilder(toAdd).addToAttributes(COMPACT_COLLECTIONS_ENABLED, true).build()
+                            : toAdd));
                     methods.add(ToMethod.WITH.apply(toAdd));
                     methods.add(ToMethod.WITH_ARRAY.apply(property));
+                    if (!isBuildable(toAdd) && getPropertyBuildableAncestors(toAdd).isEmpty()) {
+                        exposed.add(toAdd.getName());
+                    }
                 } else if (isMap(property.getType())) {
+                    exposed.add(toAdd.getName());
                     methods.add(ToMethod.ADD_TO_MAP.apply(toAdd));
                     methods.add(ToMethod.GETTER.apply(toAdd));
                     methods.add(ToMethod.WITH.apply(toAdd));
@@ -123,11 +183,50 @@ public enum ClazzAs implements Function<JavaClazz, JavaClazz> {
                 }
             }
 
+            Set<JavaType> reachable = getReachableBuildables(item);
+            if (reachable != null) {
+                methods.add(new JavaMethodBuilder()
+                        .addToModifiers(Modifier.PROTECTED)
+                        .withName("_canVisit")
+                        .withReturnType(BOOLEAN)
+                        .addNewArgument()
+                            .withType(typeGenericOf(CLASS, Q))
+                            .withName("type")
+                        .endArgument()
+                        .addToAttributes(BODY, toCanVisit(fluentType, reachable))
+                        .build());
+            }
+
+            if (!item.getConstructors().isEmpty()) {
+                methods.add(new JavaMethodBuilder()
+                        .addToModifiers(Modifier.PROTECTED)
+                        .withName("_copy")
+                        .withReturnType(VOID)
+                        .addNewArgument()
+                            .withType(OBJECT)
+                            .withName("source")
+                        .endArgument()
+                        .addToAttributes(BODY, toCopy(item))
+                        .build());
+            }
+
+            StringBuilder reset = new StringBuilder("super._reset();");
+            for (JavaProperty property : properties) {
+                reset.append(toReset(property, exposed.contains(property.getName())));
+            }
+            methods.add(new JavaMethodBuilder()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName("_reset")
+                    .withReturnType(VOID)
+                    .addToAttributes(BODY, reset.toString())
+                    .build());
+
             return new JavaClazzBuilder(item)
                     .withType(fluentType)
+                    .withImports(imports)
                     .withFields(properties)
                     .withNested(nestedClazzes)
-                    .withMethods(methods)
+                    .withMethods(materializing(methods))
                     .build();
         }
     }, BUILDER {
@@ -184,11 +283,23 @@ public enum ClazzAs implements Function<JavaClazz, JavaClazz> {
             JavaMethod build = new JavaMethodBuilder()
                     .withReturnType(item.getType())
                     .withName("build")
-                    .addToAttributes(BODY, toBuild(item))
+                    .addToAttributes(BODY, toBuild(item, isBuildCacheEnabled(item), false, isCompactCollectionsEnabled(item)))
                     .build();
 
             methods.add(build);
 
+            if (isReusable(item)) {
+                JavaType reusableType = typeGenericOf(BuilderContextManager.getContext().getReusableInterface().getType(), TypeAs.SHALLOW_BUILDER.apply(item.getType()));
+                builderType = new JavaTypeBuilder(builderType).addToInterfaces(reusableType).build();
+
+                methods.add(new JavaMethodBuilder()
+                        .addToModifiers(Modifier.PUBLIC)
+                        .withReturnType(builderType)
+                        .withName("reset")
+                        .addToAttributes(BODY, toReset(item))
+                        .build());
+            }
+
             return new JavaClazzBuilder(item)
                     .withType(builderType)
                     .withFields(fields)
@@ -201,20 +312,25 @@ public enum ClazzAs implements Function<JavaClazz, JavaClazz> {
         @Override
         public JavaClazz apply(JavaClazz item) {
             JavaClazz builder = BUILDER.apply(item);
+            Set<JavaMethod> constructors = new LinkedHashSet<JavaMethod>();
             Set<JavaMethod> methods = new LinkedHashSet<JavaMethod>();
+            for (JavaMethod c : builder.getConstructors()) {
+                constructors.add(sharingInstance(c));
+            }
             for (JavaMethod m : builder.getMethods()) {
                 if (m.getName().equals("build")) {
 
                     methods.add(new JavaMethodBuilder()
                             .withReturnType(TypeAs.EDITABLE.apply(m.getReturnType()))
                             .withName("build")
-                            .addToAttributes(BODY, toBuild(EDITABLE.apply(item)))
+                            .addToAttributes(BODY, toBuild(EDITABLE.apply(item), isBuildCacheEnabled(item), true, isCompactCollectionsEnabled(item)))
                             .build());
                 } else {
                     methods.add(m);
                 }
             }
             return new JavaClazzBuilder(builder)
+                    .withConstructors(constructors)
                     .withMethods(methods)
                     .build();
 
@@ -324,9 +440,38 @@ public enum ClazzAs implements Function<JavaClazz, JavaClazz> {
     }
 
     private static String toInstanceConstructorBody(JavaClazz clazz, String fluent) {
+        return "this.fluent = " + fluent + "; " + fluent + "._fork(instance); ";
+    }
+
+    /**
+     * Creates the body of _copy(), which copies the properties of the instance the fluent was forked from.
+     */
+    private static String toCopy(JavaClazz clazz) {
+        String className = clazz.getType().getClassName();
+        return className + " instance = (" + className + ") source; " + toCopyFromInstance(clazz, "this");
+    }
+
+    /**
+     * Makes the public methods of a fluent copy the properties of the instance it was forked from, before accessing
+     * its own, so that nested builders are created on first access.
+     */
+    private static Set<JavaMethod> materializing(Set<JavaMethod> methods) {
+        Set<JavaMethod> result = new LinkedHashSet<JavaMethod>();
+        for (JavaMethod method : methods) {
+            if (method.getModifiers().contains(Modifier.PUBLIC) && !method.getName().startsWith("_")) {
+                result.add(new JavaMethodBuilder(method)
+                        .addToAttributes(BODY, "_materialize(); " + method.getAttributes().get(BODY))
+                        .build());
+            } else {
+                result.add(method);
+            }
+        }
+        return result;
+    }
+
+    private static String toCopyFromInstance(JavaClazz clazz, String fluent) {
         JavaMethod constructor = findBuildableConstructor(clazz);
         StringBuilder sb = new StringBuilder();
-        sb.append("this.fluent = " + fluent + "; ");
         for (JavaProperty property : constructor.getArguments()) {
             JavaMethod getter = findGetter(clazz, property);
             sb.append(fluent).append(".with").append(property.getNameCapitalized()).append("(instance.").append(getter.getName()).append("()); ");
@@ -334,20 +479,125 @@ public enum ClazzAs implements Function<JavaClazz, JavaClazz> {
         return sb.toString();
     }
 
-    private static String toBuild(JavaClazz clazz) {
+    /**
+     * Creates the body of reset(), which brings the builder to the state of a newly created one.
+     * Clazzes with a default constructor are reset to the values of a default instance, just like new builders.
+     */
+    private static String toReset(JavaClazz clazz) {
+        StringBuilder sb = new StringBuilder("fluent._reset(); ");
+        if (hasDefaultConstructor(clazz)) {
+            String className = clazz.getType().getClassName();
+            sb.append(className).append(" instance = new ").append(className).append("(); ");
+            sb.append(toCopyFromInstance(clazz, "fluent"));
+        }
+        sb.append("return this;");
+        return sb.toString();
+    }
+
+    private static boolean isReusable(JavaClazz clazz) {
+        return Boolean.TRUE.equals(clazz.getAttributes().get(REUSABLE_ENABLED));
+    }
+
+    /**
+     * Makes a builder, that is created from an instance, build that very instance for as long as it is not modified.
+     * Together with the invalidation of the enclosing fluents, only the modified path of an edited tree is rebuilt.
+     * Getters that expose mutable collections count as modifications, see {@link ToMethod#GETTER}.
+     */
+    private static JavaMethod sharingInstance(JavaMethod constructor) {
+        String fluent = null;
+        boolean hasInstance = false;
+        for (JavaProperty argument : constructor.getArguments()) {
+            if (argument.getName().equals("instance")) {
+                hasInstance = true;
+            } else if (argument.getName().equals("fluent")) {
+                fluent = "fluent";
+            }
+        }
+        if (!hasInstance) {
+            return constructor;
+        }
+        return new JavaMethodBuilder(constructor)
+                .addToAttributes(BODY, constructor.getAttributes().get(BODY) + (fluent != null ? fluent : "this") + "._setBuilt(instance); ")
+                .build();
+    }
+
+    /**
+     * Creates the statement that brings a field of a fluent back to its initial state.
+     * Collections are cleared, so that their storage is reused, unless they are exposed by their getter
+     * and may have been passed to an object that was built. Those are replaced.
+     */
+    private static String toReset(JavaProperty property, boolean exposed) {
+        String name = property.getName();
+        JavaType type = property.getType();
+        if (property.isArray()) {
+            return "this." + name + " = null;";
+        } else if (isList(type) || isSet(type) || isMap(type)) {
+            if (exposed && type.getDefaultImplementation() != null) {
+                return "this." + name + " = new " + type.getDefaultImplementation().getSimpleName() + "();";
+            }
+            return "this." + name + ".clear();";
+        } else if (isPrimitive(type)) {
+            return "this." + name + " = " + (type.isBoolean() ? "false" : "0") + ";";
+        }
+        return "this." + name + " = null;";
+    }
+
+    private static String toCanVisit(JavaType fluentType, Set<JavaType> reachable) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("return type.isInstance(this)");
+        for (JavaType type : reachable) {
+            JavaType builder = TypeAs.SHALLOW_BUILDER.apply(type);
+            String name = fluentType.getPackageName().equals(builder.getPackageName())
+                    ? builder.getClassName()
+                    : builder.getFullyQualifiedName();
+            sb.append(" || type.isAssignableFrom(").append(name).append(".class)");
+        }
+        sb.append(";");
+        return sb.toString();
+    }
+
+    private static boolean isBuildCacheEnabled(JavaClazz clazz) {
+        return Boolean.TRUE.equals(clazz.getAttributes().get(BUILD_CACHE_ENABLED));
+    }
+
+    private static boolean isCompactCollectionsEnabled(JavaClazz clazz) {
+        return Boolean.TRUE.equals(clazz.getAttributes().get(COMPACT_COLLECTIONS_ENABLED));
+    }
+
+    private static String toBuild(JavaClazz clazz, boolean cached, boolean shared, final boolean compact) {
         JavaMethod constructor = findBuildableConstructor(clazz);
+        String simpleName = clazz.getType().getSimpleName();
         StringBuilder sb = new StringBuilder();
-        sb.append(clazz.getType().getSimpleName()).append(" buildable = new ").append(clazz.getType().getSimpleName()).append("(");
+        if (cached || shared) {
+            sb.append("if (fluent._getBuilt() instanceof ").append(simpleName).append(") {\n");
+            sb.append("return (").append(simpleName).append(") fluent._getBuilt();\n");
+            sb.append("}\n");
+        }
+        sb.append(simpleName).append(" buildable = new ").append(simpleName).append("(");
         sb.append(StringUtils.join(constructor.getArguments(), new Function<JavaProperty, String>() {
             @Override
             public String apply(JavaProperty item) {
                 String prefix = item.getType().isBoolean() ? "is" : "get";
-                return "fluent." + prefix + item.getNameCapitalized() + "()";
+                String value = "fluent." + prefix + item.getNameCapitalized() + "()";
+                if (compact && !item.isArray() && (isList(item.getType()) || isSet(item.getType()) || isMap(item.getType()))) {
+                    return "compact(" + value + ")";
+                } else if (isPrimitiveList(item)) {
+                    //The getter is a view of the array of the fluent, that later changes must not affect.
+                    return "new ArrayList<" + TypeAs.UNWRAP_COLLECTION_OF.apply(item.getType()).getSimpleName() + ">(" + value + ")";
+                } else if (!item.isArray() && (isMap(item.getType()) || ((isList(item.getType()) || isSet(item.getType()))
+                        && !isBuildable(item) && getPropertyBuildableAncestors(item).isEmpty()))) {
+                    //The getter returns a view, which would keep the fluent reachable from the built object.
+                    return "fluent." + item.getName();
+                }
+                return value;
             }
         }, ","));
 
         sb.append(");\n");
         sb.append("validate(buildable);\n");
+        if (cached) {
+            sb.append("fluent._setBuilt(buildable);\n");
+        }
         sb.append("return buildable;\n");
         return sb.toString();
     }
@@ -32,6 +32,7 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import static io.sundr.builder.Constants.BODY;
@@ -61,12 +62,12 @@ public final class PropertyAs {
             JavaType nestedType = NESTED_TYPE.apply(item);
             JavaType nestedUnwrapped = new JavaTypeBuilder(nestedType).withGenericTypes(new JavaType[0]).build();
 
-            Set<JavaMethod> nestedMethods = new HashSet<JavaMethod>();
+            Set<JavaMethod> nestedMethods = new LinkedHashSet<JavaMethod>();
             nestedMethods.add(ToMethod.AND.apply(item));
             nestedMethods.add(ToMethod.END.apply(item));
 
-            Set<JavaProperty> properties = new HashSet<JavaProperty>();
-            Set<JavaMethod> constructors = new HashSet<JavaMethod>();
+            Set<JavaProperty> properties = new LinkedHashSet<JavaProperty>();
+            Set<JavaMethod> constructors = new LinkedHashSet<JavaMethod>();
             
             JavaType memberOf = (JavaType) item.getAttributes().get(MEMBER_OF);
             properties.add(new JavaPropertyBuilder()
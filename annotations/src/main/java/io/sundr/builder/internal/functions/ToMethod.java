@@ -30,8 +30,18 @@ import java.util.Set;
 
 import static io.sundr.builder.Constants.ARRAY_GETTER_SNIPPET;
 import static io.sundr.builder.Constants.BODY;
+import static io.sundr.builder.Constants.COLLECTION;
+import static io.sundr.builder.Constants.COMPACT_COLLECTIONS_ENABLED;
+import static io.sundr.builder.Constants.INT;
+import static io.sundr.builder.Constants.LIST;
+import static io.sundr.builder.Constants.MAP;
 import static io.sundr.builder.Constants.MEMBER_OF;
 import static io.sundr.builder.Constants.N;
+import static io.sundr.builder.Constants.PRIMITIVE_ARRAY_ADD_SNIPPET;
+import static io.sundr.builder.Constants.PRIMITIVE_ARRAY_GROW_SNIPPET;
+import static io.sundr.builder.Constants.PRIMITIVE_LIST_VIEW_SNIPPET;
+import static io.sundr.builder.Constants.PRIMITIVE_STORAGE;
+import static io.sundr.builder.Constants.SET;
 import static io.sundr.builder.Constants.T;
 import static io.sundr.builder.Constants.VOID;
 import static io.sundr.builder.internal.functions.TypeAs.BUILDER;
@@ -39,11 +49,13 @@ import static io.sundr.builder.internal.functions.TypeAs.UNWRAP_ARRAY_OF;
 import static io.sundr.builder.internal.functions.TypeAs.UNWRAP_COLLECTION_OF;
 import static io.sundr.builder.internal.functions.TypeAs.VISITABLE_BUILDER;
 import static io.sundr.builder.internal.functions.TypeAs.combine;
+import static io.sundr.codegen.utils.TypeUtils.typeGenericOf;
 import static io.sundr.builder.internal.utils.BuilderUtils.getPropertyBuildableAncestors;
 import static io.sundr.builder.internal.utils.BuilderUtils.isBuildable;
 import static io.sundr.builder.internal.utils.BuilderUtils.isList;
 import static io.sundr.builder.internal.utils.BuilderUtils.isMap;
 import static io.sundr.builder.internal.utils.BuilderUtils.isSet;
+import static io.sundr.builder.internal.utils.BuilderUtils.unboxed;
 import static io.sundr.codegen.utils.StringUtils.captializeFirst;
 import static io.sundr.codegen.utils.StringUtils.loadResourceQuietly;
 import static io.sundr.codegen.utils.StringUtils.singularize;
@@ -69,24 +81,28 @@ public enum ToMethod implements Function<JavaProperty, JavaMethod> {
             String name = property.getName();
             JavaType type = property.getType();
             String className = type.getClassName();
-            StringBuilder sb = new StringBuilder();
-            if (type.isCollection()) {
+            StringBuilder sb = new StringBuilder("_invalidate();");
+            if (isPrimitiveStorage(property)) {
+                sb.append("this." + sizeOf(property) + " = 0;");
+                sb.append("if (" + name + " != null) {this.addAllTo" + property.getNameCapitalized() + "(" + name + ");} return (T) this;");
+                return sb.toString();
+            } else if (type.isCollection()) {
+                sb.append(removeVisitables(property));
                 sb.append("this." + name + ".clear();");
                 if (className.contains("Map")) {
                     sb.append("if (" + name + " != null) {this." + name + ".putAll(" + name + ");} return (T) this;");
                 } else if (className.contains("List") || className.contains("Set")) {
-                    JavaType unwraped = TypeAs.UNWRAP_COLLECTION_OF.apply(property.getType());
-                    String addToMethodName = "addTo" + property.getNameCapitalized();
-                    sb.append("if (" + name + " != null) {for (" + unwraped.getSimpleName() + " item : " + name + "){this." + addToMethodName + "(item);}} return (T) this;");
+                    String addAllToMethodName = "addAllTo" + property.getNameCapitalized();
+                    sb.append("if (" + name + " != null) {this." + addAllToMethodName + "(" + name + ");} return (T) this;");
                 }
                 return sb.toString();
             } else if (isBuildable(property)) {
                 JavaType builder = combine(UNWRAP_COLLECTION_OF, BUILDER).apply(property.getType());
                 String propertyName = property.getName();
                 String builderClass = builder.getSimpleName();
-                return "if (" + propertyName + "!=null){ this." + propertyName + "= new " + builderClass + "(" + propertyName + "); _visitables.add(this." + propertyName + ");} return (T) this;";
+                return "_invalidate(); if (" + propertyName + "!=null){ _visitables.remove(\"" + propertyName + "\"); this." + propertyName + "= new " + builderClass + "(" + propertyName + "); _visitables.listOf(\"" + propertyName + "\").add(this." + propertyName + "); _attach(this." + propertyName + ");} return (T) this;";
             }
-            return "this." + property.getName() + "=" + property.getName() + "; return (T) this;";
+            return "_invalidate(); this." + property.getName() + "=" + property.getName() + "; return (T) this;";
         }
 
     }, WITH_ARRAY {
@@ -103,12 +119,30 @@ public enum ToMethod implements Function<JavaProperty, JavaMethod> {
                     .withArray(true)
                     .build();
 
+            String body = isPrimitiveStorage(property)
+                    ? "_invalidate(); this." + sizeOf(property) + " = 0; if (" + property.getName() + " != null) {this." + addToMethodName + "(" + property.getName() + ");} return (T) this;"
+                    : "_invalidate(); " + removeVisitables(property) + "this." + property.getName() + ".clear(); if (" + property.getName() + " != null) {for (" + unwraped.getSimpleName() + " item :" + property.getName() + "){ this." + addToMethodName + "(item);}} return (T) this;";
+
             return new JavaMethodBuilder()
                     .addToModifiers(Modifier.PUBLIC)
                     .withName(methodName)
                     .withReturnType(T)
                     .withArguments(new JavaProperty[]{arrayProperty})
-                    .addToAttributes(BODY, "this." + property.getName() + ".clear(); if (" + property.getName() + " != null) {for (" + unwraped.getSimpleName() + " item :" + property.getName() + "){ this." + addToMethodName + "(item);}} return (T) this;")
+                    .addToAttributes(BODY, body)
+                    .build();
+        }
+
+    }, WITH_PRIMITIVE_ARRAY {
+        @Override
+        public JavaMethod apply(JavaProperty property) {
+            String methodName = "with" + property.getNameCapitalized();
+            String name = property.getName();
+            return new JavaMethodBuilder()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName(methodName)
+                    .withReturnType(T)
+                    .withArguments(new JavaProperty[]{property})
+                    .addToAttributes(BODY, "_invalidate(); this." + name + " = " + name + " != null ? Arrays.copyOf(" + name + ", " + name + ".length) : null; this." + sizeOf(property) + " = " + name + " != null ? " + name + ".length : 0; return (T) this;")
                     .build();
         }
 
@@ -118,12 +152,21 @@ public enum ToMethod implements Function<JavaProperty, JavaMethod> {
             String prefix = property.getType().isBoolean() ? "is" : "get";
             String methodName = prefix + property.getNameCapitalized();
             String body = null;
+            //Compact lists of builders are built straight into an immutable list.
+            final boolean compact = Boolean.TRUE.equals(property.getAttributes().get(COMPACT_COLLECTIONS_ENABLED));
 
             Set<JavaProperty> descendants = getPropertyBuildableAncestors(property);
-            if (isMap(property.getType())) {
-                body = "return this." + property.getName() + ";";
+            if (isPrimitiveStorage(property)) {
+                //A view of the primitive array, that writes through to it.
+                JavaType unwrapped = UNWRAP_COLLECTION_OF.apply(property.getType());
+                body = String.format(PRIMITIVE_LIST_VIEW_TEXT, property.getName(), sizeOf(property), unwrapped.getSimpleName(),
+                        grow(property, sizeOf(property) + " + 1"), unboxed(unwrapped).getClassName());
+            } else if (isMap(property.getType())) {
+                body = toInvalidatingGetterBody(property);
             } else if (isBuildable(property)) {
-                if (isList(property.getType()) || isSet(property.getType())) {
+                if (compact) {
+                    body = "return buildCompact(" + property.getName() + ");";
+                } else if (isList(property.getType()) || isSet(property.getType())) {
                     body = "return build(" + property.getName() + ");";
                 } else {
                     body = "return this." + property.getName() + "!=null?this." + property.getName() + ".build():null;";
@@ -134,14 +177,16 @@ public enum ToMethod implements Function<JavaProperty, JavaMethod> {
                     String names = StringUtils.join(descendants, new Function<JavaProperty, String>() {
                         @Override
                         public String apply(JavaProperty item) {
-                            return "build(" + item.getName() + ")";
+                            return compact ? item.getName() : "build(" + item.getName() + ")";
                         }
                     }, ", ");
-                    body = "return aggregate(" + names + ");";
+                    body = compact ? "return buildCompact(" + names + ");" : "return aggregate(" + names + ");";
                 } else {
                     //TODO: What are we doing in this case?
                     body = "return this." + property.getName() + ";";
                 }
+            } else if (isList(property.getType()) || isSet(property.getType())) {
+                body = toInvalidatingGetterBody(property);
             } else {
                 body = "return this." + property.getName() + ";";
             }
@@ -161,16 +206,30 @@ public enum ToMethod implements Function<JavaProperty, JavaMethod> {
             String methodName = prefix + property.getNameCapitalized();
             JavaType type = property.getType();
             JavaType builderType = VISITABLE_BUILDER.apply(type);
+            String body = isBuildable(type)
+                    ? String.format(ARRAY_GETTER_TEXT, type.getClassName(), builderType.getSimpleName(), property.getName(), type.getClassName())
+                    : "return this." + property.getName() + ".toArray(new " + type.getClassName() + "[this." + property.getName() + ".size()]);";
 
             return new JavaMethodBuilder()
                     .addToModifiers(Modifier.PUBLIC)
                     .withName(methodName)
                     .withReturnType(property.getType())
                     .withArguments(new JavaProperty[]{})
-                    .addToAttributes(BODY, String.format(ARRAY_GETTER_TEXT, type.getClassName(),
-                            builderType.getSimpleName(),
-                            property.getName(),
-                            type.getClassName()))
+                    .addToAttributes(BODY, body)
+                    .build();
+        }
+    }, GETTER_PRIMITIVE_ARRAY {
+        @Override
+        public JavaMethod apply(JavaProperty property) {
+            String prefix = property.getType().isBoolean() ? "is" : "get";
+            String methodName = prefix + property.getNameCapitalized();
+            String name = property.getName();
+            return new JavaMethodBuilder()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName(methodName)
+                    .withReturnType(property.getType())
+                    .withArguments(new JavaProperty[]{})
+                    .addToAttributes(BODY, "return this." + name + " != null ? Arrays.copyOf(this." + name + ", this." + sizeOf(property) + ") : null;")
                     .build();
         }
     },
@@ -183,7 +242,24 @@ public enum ToMethod implements Function<JavaProperty, JavaMethod> {
                     .withName(methodName)
                     .withReturnType(VOID)
                     .withArguments(new JavaProperty[]{property})
-                    .addToAttributes(BODY, "this." + property.getName() + "=" + property.getName() + ";")
+                    .addToAttributes(BODY, "_invalidate(); this." + property.getName() + "=" + property.getName() + ";")
+                    .build();
+        }
+    }, WITH_EXPECTED_SIZE {
+        @Override
+        public JavaMethod apply(JavaProperty property) {
+            String methodName = "withExpected" + property.getNameCapitalized() + "Size";
+            JavaProperty size = new JavaPropertyBuilder()
+                    .withType(INT)
+                    .withName("size")
+                    .build();
+
+            return new JavaMethodBuilder()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName(methodName)
+                    .withReturnType(T)
+                    .withArguments(new JavaProperty[]{size})
+                    .addToAttributes(BODY, presize(property, "size") + "return (T) this;")
                     .build();
         }
     },
@@ -197,14 +273,17 @@ public enum ToMethod implements Function<JavaProperty, JavaMethod> {
                     .build();
 
             String methodName = "addTo" + property.getNameCapitalized();
-            String body = "";
+            String body = "_invalidate();";
             Set<JavaProperty> descendants = getPropertyBuildableAncestors(property);
-            if (isBuildable(property)) {
+            if (isPrimitiveStorage(property)) {
+                body += "if (items == null) {return (T) this;}" + presize(property, "this." + sizeOf(property) + " + items.length");
+                body += "for (" + item.getType().getSimpleName() + " item : items) {this." + property.getName() + "[this." + sizeOf(property) + "++] = item;} return (T) this;";
+            } else if (isBuildable(property)) {
                 JavaType builder = combine(UNWRAP_COLLECTION_OF, BUILDER).apply(property.getType());
                 String builderClass = builder.getSimpleName();
-                body = "for ("+ item.getType().getSimpleName()+" item : items) {" + builderClass + " builder = new " + builderClass + "(item);_visitables.add(builder);this." + property.getName() + ".add(builder);} return (T)this;";
+                body += "for ("+ item.getType().getSimpleName()+" item : items) {" + builderClass + " builder = new " + builderClass + "(item);_visitables.listOf(\"" + property.getName() + "\").add(builder);_attach(builder);this." + property.getName() + ".add(builder);} return (T)this;";
             } else if (descendants.size() > 0) {
-                body = "for (" + item.getType().getSimpleName() + " item : items) {" +StringUtils.join(descendants, new Function<JavaProperty, String>() {
+                body += "for (" + item.getType().getSimpleName() + " item : items) {" +StringUtils.join(descendants, new Function<JavaProperty, String>() {
                     @Override
                     public String apply(JavaProperty item) {
                         JavaType t = TypeAs.UNWRAP_COLLECTION_OF.apply(item.getType());
@@ -215,7 +294,7 @@ public enum ToMethod implements Function<JavaProperty, JavaMethod> {
 
                 body += "} return (T)this;";
             } else {
-                body = "for ("+ item.getType().getSimpleName()+" item : items) {this." + property.getName() + ".add(item);} return (T)this;";
+                body += "for ("+ item.getType().getSimpleName()+" item : items) {this." + property.getName() + ".add(item);} return (T)this;";
             }
 
             return new JavaMethodBuilder()
@@ -226,6 +305,79 @@ public enum ToMethod implements Function<JavaProperty, JavaMethod> {
                     .addToAttributes(BODY, body)
                     .build();
         }
+    }, ADD_TO_PRIMITIVE_ARRAY {
+        @Override
+        public JavaMethod apply(JavaProperty property) {
+            JavaProperty item = new JavaPropertyBuilder(property)
+                    .withName("items")
+                    .build();
+
+            String methodName = "addTo" + property.getNameCapitalized();
+            return new JavaMethodBuilder()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName(methodName)
+                    .withReturnType(T)
+                    .withArguments(new JavaProperty[]{item})
+                    .addToAttributes(BODY, String.format(PRIMITIVE_ARRAY_ADD_TEXT, property.getName(), sizeOf(property), property.getType().getClassName()))
+                    .build();
+        }
+    }, ADD_PRIMITIVES_TO_COLLECTION {
+        @Override
+        public JavaMethod apply(JavaProperty property) {
+            JavaType primitive = unboxed(UNWRAP_COLLECTION_OF.apply(property.getType()));
+            JavaProperty item = new JavaPropertyBuilder()
+                    .withName("items")
+                    .withArray(true)
+                    .withType(new JavaTypeBuilder(primitive).withArray(true).build())
+                    .build();
+
+            //A distinct name, as an overload of addTo would make calls with a single item ambiguous.
+            String methodName = "addPrimitivesTo" + property.getNameCapitalized();
+            return new JavaMethodBuilder()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName(methodName)
+                    .withReturnType(T)
+                    .withArguments(new JavaProperty[]{item})
+                    .addToAttributes(BODY, String.format(PRIMITIVE_ARRAY_ADD_TEXT, property.getName(), sizeOf(property), primitive.getClassName()))
+                    .build();
+        }
+    },
+    ADD_ALL_TO_COLLECTION {
+        @Override
+        public JavaMethod apply(final JavaProperty property) {
+            JavaType unwrapped = TypeAs.UNWRAP_COLLECTION_OF.apply(property.getType());
+            JavaProperty items = new JavaPropertyBuilder()
+                    .withName("items")
+                    .withType(typeGenericOf(COLLECTION, unwrapped))
+                    .build();
+
+            String name = property.getName();
+            String methodName = "addAllTo" + property.getNameCapitalized();
+            String body = "_invalidate();if (items != null) {";
+            if (isPrimitiveStorage(property)) {
+                body += presize(property, "this." + sizeOf(property) + " + items.size()");
+                body += "for (" + unwrapped.getSimpleName() + " item : items) {this." + name + "[this." + sizeOf(property) + "++] = item;}";
+            } else if (isBuildable(property)) {
+                JavaType builder = combine(UNWRAP_COLLECTION_OF, BUILDER).apply(property.getType());
+                String builderClass = builder.getSimpleName();
+                body += presize(property, "this." + name + ".size() + items.size()");
+                body += "for (" + unwrapped.getSimpleName() + " item : items) {" + builderClass + " builder = new " + builderClass + "(item);_visitables.listOf(\"" + name + "\").add(builder);_attach(builder);this." + name + ".add(builder);}";
+            } else if (getPropertyBuildableAncestors(property).size() > 0) {
+                body += "for (" + unwrapped.getSimpleName() + " item : items) {this.addTo" + property.getNameCapitalized() + "(item);}";
+            } else {
+                body += presize(property, "this." + name + ".size() + items.size()");
+                body += "this." + name + ".addAll(items);";
+            }
+            body += "} return (T) this;";
+
+            return new JavaMethodBuilder()
+                    .addToModifiers(Modifier.PUBLIC)
+                    .withName(methodName)
+                    .withReturnType(T)
+                    .withArguments(new JavaProperty[]{items})
+                    .addToAttributes(BODY, body)
+                    .build();
+        }
     },
     ADD_TO_MAP {
         @Override
@@ -242,7 +394,7 @@ public enum ToMethod implements Function<JavaProperty, JavaMethod> {
                     .withName(methodName)
                     .withReturnType(T)
                     .withArguments(new JavaProperty[]{keyProperty, valueProperty})
-                    .addToAttributes(BODY, "if(key != null && value != null) {this." + property.getName() + ".put(key, value);} return (T)this;")
+                    .addToAttributes(BODY, "_invalidate(); if(key != null && value != null) {this." + property.getName() + ".put(key, value);} return (T)this;")
                     .build();
         }
     }, WITH_NEW_NESTED {
@@ -349,4 +501,72 @@ public enum ToMethod implements Function<JavaProperty, JavaMethod> {
     };
 
     private static final String ARRAY_GETTER_TEXT = loadResourceQuietly(ARRAY_GETTER_SNIPPET);
+    private static final String PRIMITIVE_ARRAY_ADD_TEXT = loadResourceQuietly(PRIMITIVE_ARRAY_ADD_SNIPPET);
+    private static final String PRIMITIVE_ARRAY_GROW_TEXT = loadResourceQuietly(PRIMITIVE_ARRAY_GROW_SNIPPET);
+    private static final String PRIMITIVE_LIST_VIEW_TEXT = loadResourceQuietly(PRIMITIVE_LIST_VIEW_SNIPPET);
+
+    /**
+     * Returns the name of the field that holds the number of elements in use, in the storage of a primitive array property.
+     */
+    public static String sizeOf(JavaProperty property) {
+        return property.getName() + "Size";
+    }
+
+    /**
+     * Creates the statements that make the storage of a collection property able to hold the specified number of items,
+     * without growing. Sets can only be resized while empty, as resizing a set means rehashing its items.
+     * Resizing a set replaces it, so only sets of builders are resized, as they are never exposed by a getter.
+     */
+    private static String presize(JavaProperty property, String size) {
+        String name = property.getName();
+        if (isPrimitiveStorage(property)) {
+            return grow(property, size);
+        } else if (isList(property.getType())) {
+            return "if (this." + name + " instanceof ArrayList) {((ArrayList) this." + name + ").ensureCapacity(" + size + ");}";
+        } else if (isSet(property.getType()) && isBuildable(property)) {
+            return "if (this." + name + ".isEmpty()) {this." + name + " = new LinkedHashSet(Math.max(16, (int) ((" + size + ") / .75f) + 1));}";
+        }
+        return "";
+    }
+
+    /**
+     * Creates the statements that grow the primitive array of a property to the specified capacity, if needed.
+     * The fields are not qualified with this, so that they can be used by nested classes too.
+     */
+    private static String grow(JavaProperty property, String capacity) {
+        return String.format(PRIMITIVE_ARRAY_GROW_TEXT, property.getName(), unboxed(UNWRAP_COLLECTION_OF.apply(property.getType())).getClassName(), capacity);
+    }
+
+    /**
+     * Creates the body of a getter, that returns a view of the collection that discards the cached build result when
+     * modified, so that reading the property alone doesn't. Properties of concrete collection types can't be viewed,
+     * so reading them discards the cached build result.
+     */
+    private static String toInvalidatingGetterBody(JavaProperty property) {
+        String name = property.getType().getFullyQualifiedName();
+        if (name.equals(LIST.getFullyQualifiedName()) || name.equals(SET.getFullyQualifiedName()) || name.equals(MAP.getFullyQualifiedName())) {
+            return "return _invalidating(this." + property.getName() + ");";
+        }
+        return "_invalidate(); return this." + property.getName() + ";";
+    }
+
+    private static boolean isPrimitiveStorage(JavaProperty property) {
+        return Boolean.TRUE.equals(property.getAttributes().get(PRIMITIVE_STORAGE));
+    }
+
+    /**
+     * Creates the statements that drop the visitables of a collection property, before it gets cleared.
+     * For abstract types, the visitables and values of all the buildable descendants are dropped too.
+     */
+    private static String removeVisitables(JavaProperty property) {
+        if (isBuildable(property)) {
+            return "_visitables.remove(\"" + property.getName() + "\");";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (JavaProperty descendant : getPropertyBuildableAncestors(property)) {
+            sb.append("_visitables.remove(\"" + descendant.getName() + "\");");
+            sb.append("this." + descendant.getName() + ".clear();");
+        }
+        return sb.toString();
+    }
 }
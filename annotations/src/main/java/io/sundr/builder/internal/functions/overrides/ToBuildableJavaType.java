@@ -20,6 +20,7 @@ import io.sundr.Function;
 import io.sundr.builder.annotations.Buildable;
 import io.sundr.builder.internal.BuildableRepository;
 import io.sundr.builder.internal.BuilderContextManager;
+import io.sundr.codegen.coverters.JavaTypeCache;
 import io.sundr.codegen.coverters.JavaTypeFunction;
 import io.sundr.codegen.model.JavaType;
 import io.sundr.codegen.model.JavaTypeBuilder;
@@ -35,15 +36,40 @@ public class ToBuildableJavaType implements Function<String, JavaType> {
 
     private static final String BUILDABLE = "BUILDABLE";
     private final Elements elements;
-    private final Function<String, JavaType> delegate;
-    
+    private final JavaTypeFunction delegate;
+    private final JavaTypeCache buildableTypes = new JavaTypeCache();
+    private long generation = -1;
+    private int repositoryVersion = -1;
+
     public ToBuildableJavaType(Elements elements) {
         this.elements = elements;
         delegate = new JavaTypeFunction(elements);
     }
 
     @Override
-    public JavaType apply(String fullName) {
+    public synchronized JavaType apply(String fullName) {
+        //Buildability depends on the repository, so the types are only reused until either the repository
+        //or the underlying type cache changes.
+        BuildableRepository repository = BuilderContextManager.getContext().getRepository();
+        if (generation != delegate.getCache().getGeneration() || repositoryVersion != repository.getVersion()) {
+            buildableTypes.clear();
+            generation = delegate.getCache().getGeneration();
+            repositoryVersion = repository.getVersion();
+        }
+
+        JavaType type = buildableTypes.get(fullName);
+        if (type == null) {
+            type = toBuildableType(fullName);
+            buildableTypes.put(fullName, type);
+        }
+        return type;
+    }
+
+    public JavaTypeCache getCache() {
+        return buildableTypes;
+    }
+
+    private JavaType toBuildableType(String fullName) {
         JavaType type = delegate.apply(fullName);
         if (type == null) {
             return null;
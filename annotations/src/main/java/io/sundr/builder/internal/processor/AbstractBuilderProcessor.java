@@ -23,23 +23,63 @@ import io.sundr.builder.internal.BuilderContextManager;
 import io.sundr.builder.internal.functions.ClazzAs;
 import io.sundr.builder.internal.functions.TypeAs;
 import io.sundr.builder.internal.utils.BuilderUtils;
+import io.sundr.codegen.coverters.JavaTypeCache;
 import io.sundr.codegen.model.JavaClazz;
 import io.sundr.codegen.model.JavaClazzBuilder;
 import io.sundr.codegen.model.JavaMethod;
 import io.sundr.codegen.model.JavaMethodBuilder;
+import io.sundr.codegen.model.JavaProperty;
 import io.sundr.codegen.model.JavaType;
 import io.sundr.codegen.model.JavaTypeBuilder;
 import io.sundr.codegen.processor.JavaGeneratingProcessor;
 
+import io.sundr.codegen.utils.StringUtils;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import static io.sundr.codegen.utils.TypeUtils.typeGenericOf;
 
 public abstract class AbstractBuilderProcessor extends JavaGeneratingProcessor {
 
+    private final Map<String, Set<String>> references = new TreeMap<String, Set<String>>();
+    private Map<String, Set<String>> indexedReferences;
+    private final Set<String> validatorHolders = new HashSet<String>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        for (BuilderEmitter emitter : BuilderEmitter.values()) {
+            registerEmitter(emitter.getTemplateResource(), emitter);
+        }
+    }
+
+    @Override
+    protected void reportStatistics() {
+        super.reportStatistics();
+        if (isOptionEnabled(STATISTICS_OPTION)) {
+            JavaTypeCache buildableTypes = BuilderContextManager.getContext().getBuildableTypeCache();
+            if (buildableTypes.getHits() > 0 || buildableTypes.getMisses() > 0) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, getClass().getSimpleName() + " buildable " + buildableTypes);
+                buildableTypes.resetStatistics();
+            }
+        }
+    }
+
     void generateLocalDependenciesIfNeeded() {
         BuilderContext context = BuilderContextManager.getContext();
         if (!Constants.DEFAULT_BUILDER_PACKAGE.equals(context.getTargetPackage())) {
@@ -50,6 +90,18 @@ public abstract class AbstractBuilderProcessor extends JavaGeneratingProcessor {
                 generateFromClazz(context.getVisitorInterface(),
                         Constants.DEFAULT_INTERFACE_TEMPLATE_LOCATION
                 );
+                generateFromClazz(context.getTypedVisitorInterface(),
+                        Constants.DEFAULT_INTERFACE_TEMPLATE_LOCATION
+                );
+                generateFromClazz(context.getTraversalVisitorInterface(),
+                        Constants.DEFAULT_INTERFACE_TEMPLATE_LOCATION
+                );
+                generateFromClazz(context.getTraversalClass(),
+                        Constants.DEFAULT_CLASS_TEMPLATE_LOCATION
+                );
+                generateFromClazz(context.getVisitResultClass(),
+                        Constants.DEFAULT_CLASS_TEMPLATE_LOCATION
+                );
                 generateFromClazz(context.getVisitableBuilderInterface(),
                         Constants.DEFAULT_INTERFACE_TEMPLATE_LOCATION
                 );
@@ -61,6 +113,26 @@ public abstract class AbstractBuilderProcessor extends JavaGeneratingProcessor {
                         Constants.DEFAULT_INTERFACE_TEMPLATE_LOCATION
                 );
 
+                generateFromClazz(context.getVisitableRegistryClass(),
+                        Constants.DEFAULT_CLASS_TEMPLATE_LOCATION
+                );
+
+                generateFromClazz(context.getCompactListClass(),
+                        Constants.DEFAULT_CLASS_TEMPLATE_LOCATION
+                );
+
+                generateFromClazz(context.getCompactSetClass(),
+                        Constants.DEFAULT_CLASS_TEMPLATE_LOCATION
+                );
+
+                generateFromClazz(context.getReusableInterface(),
+                        Constants.DEFAULT_INTERFACE_TEMPLATE_LOCATION
+                );
+
+                generateFromClazz(context.getBuilderPoolClass(),
+                        Constants.DEFAULT_CLASS_TEMPLATE_LOCATION
+                );
+
                 generateFromClazz(context.getBaseFluentClass(),
                         Constants.DEFAULT_CLASS_TEMPLATE_LOCATION
                 );
@@ -77,6 +149,193 @@ public abstract class AbstractBuilderProcessor extends JavaGeneratingProcessor {
         }
     }
 
+    /**
+     * Finds the elements that the sources of a buildable originate from: the specified elements along with the
+     * buildables it references. The references are also recorded, so that they can be written to the buildable index,
+     * along with the types of the properties, as a new buildable descendant of such a type changes the fluent.
+     * @param clazz     The buildable clazz.
+     * @param elements  The elements that directly define the buildable.
+     * @return          The originating elements.
+     */
+    Element[] originatingElementsOf(JavaClazz clazz, Element... elements) {
+        Set<Element> result = new LinkedHashSet<Element>(Arrays.asList(elements));
+        Set<String> referenced = new TreeSet<String>();
+        for (JavaType type : BuilderUtils.getReferencedBuildables(clazz)) {
+            String name = type.getFullyQualifiedName();
+            referenced.add(name);
+            TypeElement typeElement = processingEnv.getElementUtils().getTypeElement(name);
+            if (typeElement != null) {
+                result.add(typeElement);
+            }
+        }
+        for (JavaProperty property : clazz.getFields()) {
+            JavaType type = TypeAs.UNWRAP_COLLECTION_OF.apply(property.getType());
+            if (type.getPackageName() != null && !Constants.OBJECT.getFullyQualifiedName().equals(type.getFullyQualifiedName())) {
+                referenced.add(type.getFullyQualifiedName());
+            }
+        }
+        references.put(clazz.getType().getFullyQualifiedName(), referenced);
+        return result.toArray(new Element[result.size()]);
+    }
+
+    /**
+     * Reads the buildable index written by the previous compilation into the class output, if any.
+     * Compilations that only process some of the buildables use it to find the rest of them.
+     * @param location  The location of the index, relative to the class output.
+     * @return          A map from each buildable to the types it references, which is empty if there is no index.
+     */
+    Map<String, Set<String>> readBuildableIndex(String location) {
+        if (indexedReferences != null) {
+            return indexedReferences;
+        }
+        indexedReferences = new TreeMap<String, Set<String>>();
+        try {
+            FileObject fileObject = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", location);
+            BufferedReader reader = new BufferedReader(fileObject.openReader(true));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int separator = line.indexOf('=');
+                    if (separator <= 0) {
+                        continue;
+                    }
+                    Set<String> referenced = new TreeSet<String>();
+                    for (String name : line.substring(separator + 1).split(",")) {
+                        if (!name.isEmpty()) {
+                            referenced.add(name);
+                        }
+                    }
+                    indexedReferences.put(line.substring(0, separator), referenced);
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            //There is no index on clean builds.
+        } catch (IllegalArgumentException e) {
+            //The class output is not known to the Filer.
+        }
+        return indexedReferences;
+    }
+
+    /**
+     * Finds the buildables of the previous compilation, that reference any of the specified types.
+     * @param types The fully qualified names of the types.
+     * @return      The names of the buildables.
+     */
+    Set<String> indexedBuildablesReferencing(Set<String> types) {
+        Set<String> result = new TreeSet<String>();
+        if (indexedReferences == null) {
+            return result;
+        }
+        for (Map.Entry<String, Set<String>> entry : indexedReferences.entrySet()) {
+            for (String type : entry.getValue()) {
+                if (types.contains(type)) {
+                    result.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes the index of buildables and the types they reference, one per line (e.g. a.Foo=a.Bar,a.Baz).
+     * Buildables that were indexed by the previous compilation, but not processed by this one, are kept if they
+     * still exist. A later compilation that only processes some buildables, reads it to regenerate the builders
+     * that reference them.
+     * @param location  The location of the index, relative to the class output.
+     */
+    void writeBuildableIndex(String location) {
+        Map<String, Set<String>> index = new TreeMap<String, Set<String>>(references);
+        if (indexedReferences != null) {
+            for (Map.Entry<String, Set<String>> entry : indexedReferences.entrySet()) {
+                if (!index.containsKey(entry.getKey()) && processingEnv.getElementUtils().getTypeElement(entry.getKey()) != null) {
+                    index.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        if (index.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject fileObject = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", location);
+            Writer writer = fileObject.openWriter();
+            try {
+                for (Map.Entry<String, Set<String>> entry : index.entrySet()) {
+                    writer.write(entry.getKey() + "=" + StringUtils.join(entry.getValue(), ",") + "\n");
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Failed to write buildable index: " + location + ". " + e.getMessage());
+        }
+    }
+
+    /**
+     * Marks the clazz, so that its builders cache the result of build() until they are modified.
+     * @param clazz                 The buildable clazz.
+     * @param buildCacheEnabled     Flag that indicates if the build cache is enabled.
+     * @return                      The clazz, marked if needed.
+     */
+    static JavaClazz withBuildCache(JavaClazz clazz, boolean buildCacheEnabled) {
+        if (!buildCacheEnabled) {
+            return clazz;
+        }
+        return new JavaClazzBuilder(clazz).addToAttributes(Constants.BUILD_CACHE_ENABLED, true).build();
+    }
+
+    /**
+     * Marks the clazz, so that its builders pass compact immutable collections to the constructor of the built object.
+     * @param clazz                         The buildable clazz.
+     * @param compactCollectionsEnabled     Flag that indicates if compact collections are enabled.
+     * @return                              The clazz, marked if needed.
+     */
+    static JavaClazz withCompactCollections(JavaClazz clazz, boolean compactCollectionsEnabled) {
+        if (!compactCollectionsEnabled) {
+            return clazz;
+        }
+        return new JavaClazzBuilder(clazz).addToAttributes(Constants.COMPACT_COLLECTIONS_ENABLED, true).build();
+    }
+
+    /**
+     * Marks the clazz, so that its builders can be reset and reused.
+     * @param clazz         The buildable clazz.
+     * @param reusable      Flag that indicates if builders are reusable.
+     * @return              The clazz, marked if needed.
+     */
+    static JavaClazz withReusable(JavaClazz clazz, boolean reusable) {
+        if (!reusable) {
+            return clazz;
+        }
+        return new JavaClazzBuilder(clazz).addToAttributes(Constants.REUSABLE_ENABLED, true).build();
+    }
+
+    /**
+     * Generates the specified builder. Validating builders share the validator holder of the builder package,
+     * which is generated along with the first validating builder, unless the default builder package is used.
+     * @param builder               The builder to generate.
+     * @param validationEnabled     Flag that indicates if validation is enabled.
+     * @param originatingElements   The elements the builder is generated from.
+     * @throws IOException
+     */
+    void generateBuilder(JavaClazz builder, boolean validationEnabled, Element... originatingElements) throws IOException {
+        if (!validationEnabled) {
+            generateFromClazz(builder, selectBuilderTemplate(false), originatingElements);
+            return;
+        }
+
+        BuilderContext context = BuilderContextManager.getContext();
+        JavaClazz validatorHolder = context.getValidatorHolderClass();
+        if (!Constants.DEFAULT_BUILDER_PACKAGE.equals(context.getTargetPackage()) && validatorHolders.add(context.getTargetPackage())) {
+            generateFromClazz(validatorHolder, Constants.DEFAULT_CLASS_TEMPLATE_LOCATION);
+        }
+
+        generateFromClazz(new JavaClazzBuilder(builder).addToImports(validatorHolder.getType()).build(),
+                selectBuilderTemplate(true), originatingElements);
+    }
+
     /**
      * Selects a builder template based on the criteria.
      * @param validationEnabled Flag that indicates if validationEnabled is enabled.
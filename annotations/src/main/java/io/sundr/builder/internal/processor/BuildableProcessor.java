@@ -26,11 +26,13 @@ import io.sundr.builder.internal.BuilderContextManager;
 import io.sundr.builder.internal.functions.ClazzAs;
 import io.sundr.builder.internal.functions.TypeAs;
 import io.sundr.builder.internal.utils.BuilderUtils;
+import io.sundr.codegen.coverters.JavaTypeCache;
 import io.sundr.codegen.functions.ClassToJavaType;
 import io.sundr.codegen.model.JavaClazz;
 import io.sundr.codegen.model.JavaClazzBuilder;
 import io.sundr.codegen.model.JavaMethod;
 import io.sundr.codegen.model.JavaMethodBuilder;
+import io.sundr.codegen.model.JavaProperty;
 import io.sundr.codegen.model.JavaType;
 import io.sundr.codegen.model.JavaTypeBuilder;
 import io.sundr.codegen.utils.ModelUtils;
@@ -42,7 +44,9 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.MirroredTypeException;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -56,53 +60,139 @@ import static io.sundr.codegen.utils.TypeUtils.typeGenericOf;
 public class BuildableProcessor extends AbstractBuilderProcessor {
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        if (env.processingOver()) {
+            writeBuildableIndex(Constants.BUILDABLES_INDEX_LOCATION);
+            reportStatistics();
+            return true;
+        }
+
         Elements elements = processingEnv.getElementUtils();
-        
-        //First pass register all buildables
+        JavaTypeCache.forElements(elements).enterRound(env);
+        Set<String> indexed = readBuildableIndex(Constants.BUILDABLES_INDEX_LOCATION).keySet();
+
+        //First pass register all buildables, including the ones of previous compilations.
+        List<ExecutableElement> buildables = new ArrayList<ExecutableElement>();
+        Set<String> processed = new HashSet<String>();
         for (TypeElement typeElement : annotations) {
             for (Element element : env.getElementsAnnotatedWith(typeElement)) {
-                Buildable buildable = element.getAnnotation(Buildable.class);
-                BuilderContext ctx = BuilderContextManager.create(elements, buildable.builderPackage());
                 if (element instanceof ExecutableElement) {
-                    ctx.getRepository().register(ModelUtils.getClassElement(element));
+                    buildables.add((ExecutableElement) element);
+                    processed.add(ModelUtils.getClassElement(element).getQualifiedName().toString());
                 }
             }
         }
-
-        for (TypeElement typeElement : annotations) {
-            for (Element element : env.getElementsAnnotatedWith(typeElement)) {
-                Buildable buildable = element.getAnnotation(Buildable.class);
-                if (element instanceof ExecutableElement) {
-                    BuilderContext ctx = BuilderContextManager.create(elements, buildable.builderPackage());
-                    JavaClazz clazz = ctx.getToClazz().apply(ModelUtils.getClassElement(element));
-                    generateLocalDependenciesIfNeeded();
-                    try {
-
-                        generateFromClazz(ClazzAs.FLUENT.apply(clazz),
-                                Constants.DEFAULT_FLUENT_TEMPLATE_LOCATION);
-
-                        if (buildable.editableEnabled()) {
-                            generateFromClazz(ClazzAs.EDITABLE_BUILDER.apply(clazz),
-                                    selectBuilderTemplate(buildable.validationEnabled()));
-
-                            generateFromClazz(ClazzAs.EDITABLE.apply(clazz),
-                                    Constants.DEFAULT_EDITABLE_TEMPLATE_LOCATION);
-                        } else {
-                            generateFromClazz(ClazzAs.BUILDER.apply(clazz),
-                                    selectBuilderTemplate(buildable.validationEnabled()));
-                        }
-
-                        for (final Inline inline : buildable.inline()) {
-                            generateFromClazz(inlineableOf(ctx, clazz, inline),
-                                    Constants.DEFAULT_CLASS_TEMPLATE_LOCATION);
-                        }
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
+        List<ExecutableElement> previous = new ArrayList<ExecutableElement>();
+        for (String name : indexed) {
+            TypeElement classElement = elements.getTypeElement(name);
+            if (classElement != null && !processed.contains(name)) {
+                for (ExecutableElement constructor : ElementFilter.constructorsIn(classElement.getEnclosedElements())) {
+                    if (constructor.getAnnotation(Buildable.class) != null) {
+                        previous.add(constructor);
+                        break;
                     }
                 }
             }
         }
+        for (ExecutableElement element : buildables) {
+            register(elements, element);
+        }
+        for (ExecutableElement element : previous) {
+            register(elements, element);
+        }
+
+        //The buildables of previous compilations, that reference a supertype of a processed buildable are affected.
+        Set<String> supertypes = new HashSet<String>();
+        for (ExecutableElement element : buildables) {
+            collectSupertypes(ModelUtils.getClassElement(element).asType(), supertypes);
+        }
+        Set<String> affected = indexedBuildablesReferencing(supertypes);
+        for (ExecutableElement element : previous) {
+            TypeElement classElement = ModelUtils.getClassElement(element);
+            if (!affected.contains(classElement.getQualifiedName().toString())) {
+                continue;
+            } else if (hasGetters(elements, element)) {
+                buildables.add(element);
+            } else {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Can't regenerate the builder of: "
+                        + classElement.getQualifiedName() + ", as the parameter names of its constructor are not available. "
+                        + "Either compile with -parameters, or recompile it along with its references.");
+            }
+        }
+
+        for (ExecutableElement element : buildables) {
+            generate(elements, element);
+        }
+        writePendingSources();
+        return true;
+    }
+
+    private void register(Elements elements, ExecutableElement element) {
+        Buildable buildable = element.getAnnotation(Buildable.class);
+        BuilderContext ctx = BuilderContextManager.create(elements, buildable.builderPackage());
+        ctx.getRepository().register(ModelUtils.getClassElement(element));
+    }
+
+    /**
+     * Checks that each argument of the buildable constructor has a getter. Constructors of compiled classes only
+     * retain the names of their parameters, when compiled with -parameters.
+     */
+    private boolean hasGetters(Elements elements, ExecutableElement element) {
+        Buildable buildable = element.getAnnotation(Buildable.class);
+        BuilderContext ctx = BuilderContextManager.create(elements, buildable.builderPackage());
+        JavaClazz clazz = ctx.getToClazz().apply(ModelUtils.getClassElement(element));
+        for (JavaProperty property : BuilderUtils.findBuildableConstructor(clazz).getArguments()) {
+            if (BuilderUtils.findGetter(clazz, property) == null) {
+                return false;
+            }
+        }
         return true;
     }
 
+    private void collectSupertypes(TypeMirror type, Set<String> supertypes) {
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+            Element element = processingEnv.getTypeUtils().asElement(supertype);
+            if (element instanceof TypeElement) {
+                String name = ((TypeElement) element).getQualifiedName().toString();
+                if (!Object.class.getName().equals(name) && supertypes.add(name)) {
+                    collectSupertypes(supertype, supertypes);
+                }
+            }
+        }
+    }
+
+    private void generate(Elements elements, ExecutableElement element) {
+        Buildable buildable = element.getAnnotation(Buildable.class);
+        BuilderContext ctx = BuilderContextManager.create(elements, buildable.builderPackage());
+        TypeElement classElement = ModelUtils.getClassElement(element);
+        JavaClazz clazz = ctx.getToClazz().apply(classElement);
+        clazz = withBuildCache(clazz, buildable.buildCacheEnabled());
+        clazz = withCompactCollections(clazz, buildable.compactCollectionsEnabled());
+        clazz = withReusable(clazz, buildable.reusable());
+        Element[] originatingElements = originatingElementsOf(clazz, classElement);
+        generateLocalDependenciesIfNeeded();
+        try {
+
+            generateFromClazz(ClazzAs.FLUENT.apply(clazz),
+                    Constants.DEFAULT_FLUENT_TEMPLATE_LOCATION, originatingElements);
+
+            if (buildable.editableEnabled()) {
+                generateBuilder(ClazzAs.EDITABLE_BUILDER.apply(clazz),
+                        buildable.validationEnabled(), originatingElements);
+
+                generateFromClazz(ClazzAs.EDITABLE.apply(clazz),
+                        Constants.DEFAULT_EDITABLE_TEMPLATE_LOCATION, originatingElements);
+            } else {
+                generateBuilder(ClazzAs.BUILDER.apply(clazz),
+                        buildable.validationEnabled(), originatingElements);
+            }
+
+            for (final Inline inline : buildable.inline()) {
+                generateFromClazz(inlineableOf(ctx, clazz, inline),
+                        Constants.DEFAULT_CLASS_TEMPLATE_LOCATION, originatingElements);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
 }
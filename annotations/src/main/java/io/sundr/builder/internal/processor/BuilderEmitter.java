@@ -0,0 +1,218 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.builder.internal.processor;
+
+import io.sundr.builder.Constants;
+import io.sundr.codegen.generator.CodeEmitter;
+import io.sundr.codegen.model.JavaClazz;
+import io.sundr.codegen.model.JavaMethod;
+import io.sundr.codegen.model.JavaProperty;
+import io.sundr.codegen.model.JavaType;
+
+import java.io.IOException;
+
+import static io.sundr.builder.Constants.BODY;
+import static io.sundr.codegen.utils.DeclarationUtils.writeClassFooter;
+import static io.sundr.codegen.utils.DeclarationUtils.writeClassHeader;
+import static io.sundr.codegen.utils.DeclarationUtils.writeField;
+import static io.sundr.codegen.utils.DeclarationUtils.writeMethodSignature;
+import static io.sundr.codegen.utils.DeclarationUtils.writePackageAndImports;
+
+/**
+ * Template-free equivalents of the builder templates. Each emitter walks the {@link JavaClazz} model and produces
+ * the same source as the template it replaces.
+ */
+public enum BuilderEmitter implements CodeEmitter<JavaClazz> {
+
+    INTERFACE(Constants.DEFAULT_INTERFACE_TEMPLATE_LOCATION) {
+        @Override
+        public void emit(JavaClazz model, Appendable out) throws IOException {
+            writePackageAndImports(out, model);
+            out.append("\n");
+            writeClassHeader(out, model);
+            for (JavaMethod m : model.getMethods()) {
+                out.append(INDENT);
+                writeMethodSignature(out, m);
+                out.append(";\n");
+            }
+            writeClassFooter(out);
+        }
+    },
+
+    CLASS(Constants.DEFAULT_CLASS_TEMPLATE_LOCATION) {
+        @Override
+        public void emit(JavaClazz model, Appendable out) throws IOException {
+            writePackageAndImports(out, model);
+            out.append("\n");
+            writeClassHeader(out, model);
+            writeFields(out, model);
+            writeMethods(out, model.getConstructors(), INDENT);
+            writeMethods(out, model.getMethods(), INDENT);
+            writeClassFooter(out);
+        }
+    },
+
+    FLUENT(Constants.DEFAULT_FLUENT_TEMPLATE_LOCATION) {
+        @Override
+        public void emit(JavaClazz model, Appendable out) throws IOException {
+            writePackageAndImports(out, model);
+            out.append("\n");
+            writeClassHeader(out, model);
+            writeFields(out, model);
+            writeMethods(out, model.getMethods(), INDENT);
+            for (JavaClazz nested : model.getNested()) {
+                out.append(INDENT);
+                writeClassHeader(out, nested);
+                for (JavaProperty f : nested.getFields()) {
+                    out.append(INDENT).append(INDENT).append("private final ").append(f.getType().getSimpleName()).append(" ").append(f.getName()).append(";\n");
+                }
+                writeMethods(out, nested.getConstructors(), INDENT + INDENT);
+                writeMethods(out, nested.getMethods(), INDENT + INDENT);
+                out.append(INDENT);
+                writeClassFooter(out);
+            }
+            writeClassFooter(out);
+        }
+    },
+
+    EDITABLE(Constants.DEFAULT_EDITABLE_TEMPLATE_LOCATION) {
+        @Override
+        public void emit(JavaClazz model, Appendable out) throws IOException {
+            writePackageAndImports(out, model);
+            out.append("\n");
+            writeClassHeader(out, model);
+            writeFields(out, model);
+            writeConstructorsAndPublicMethods(out, model);
+            writeClassFooter(out);
+        }
+    },
+
+    BUILDER(Constants.DEFAULT_BUILDER_TEMPLATE_LOCATION) {
+        @Override
+        public void emit(JavaClazz model, Appendable out) throws IOException {
+            writePackageAndImports(out, model);
+            out.append("\n");
+            writeClassHeader(out, model);
+            writeFields(out, model);
+            writeConstructorsAndPublicMethods(out, model);
+            out.append(INDENT).append("private <T> void validate(T item) {}\n");
+            writeClassFooter(out);
+        }
+    },
+
+    VALIDATING_BUILDER(Constants.VALIDATING_BUILDER_TEMPLATE_LOCATION) {
+        @Override
+        public void emit(JavaClazz model, Appendable out) throws IOException {
+            out.append("package ").append(model.getType().getPackageName()).append(";\n\n");
+            out.append("import javax.validation.ConstraintViolation;\n");
+            out.append("import javax.validation.ValidationException;\n");
+            out.append("import java.util.Set;\n");
+            for (JavaType i : model.getImports()) {
+                out.append("import ").append(i.getFullyQualifiedName()).append(";\n");
+            }
+            out.append("\n");
+            writeClassHeader(out, model);
+            writeFields(out, model);
+            writeConstructorsAndPublicMethods(out, model);
+            out.append(INDENT).append("private <T> void validate(T item) {\n");
+            out.append(INDENT).append(INDENT).append("try {\n");
+            out.append(INDENT).append(INDENT).append(INDENT).append("Set<ConstraintViolation<T>> violations = ValidatorHolder.getValidator().validate(item);\n");
+            out.append(INDENT).append(INDENT).append(INDENT).append("if (!violations.isEmpty()) {\n");
+            out.append(INDENT).append(INDENT).append(INDENT).append(INDENT).append("StringBuilder sb = new StringBuilder();\n");
+            out.append(INDENT).append(INDENT).append(INDENT).append(INDENT).append("sb.append(\"Constraint Violations:\\n\");\n");
+            out.append(INDENT).append(INDENT).append(INDENT).append(INDENT).append("for (ConstraintViolation violation : violations) {\n");
+            out.append(INDENT).append(INDENT).append(INDENT).append(INDENT).append(INDENT).append("sb.append(\"\\t\").append(violation.getRootBeanClass().getSimpleName()).append(\" \").append(violation.getPropertyPath()).append(\":\").append(violation.getMessage()).append(\"\\n\");\n");
+            out.append(INDENT).append(INDENT).append(INDENT).append(INDENT).append("}\n");
+            out.append(INDENT).append(INDENT).append(INDENT).append(INDENT).append("throw new IllegalStateException(sb.toString());\n");
+            out.append(INDENT).append(INDENT).append(INDENT).append("}\n");
+            out.append(INDENT).append(INDENT).append("} catch(ValidationException e) {\n");
+            out.append(INDENT).append(INDENT).append(INDENT).append("//ignore\n");
+            out.append(INDENT).append(INDENT).append("}\n");
+            out.append(INDENT).append("}\n");
+            writeClassFooter(out);
+        }
+    };
+
+    private static final String INDENT = "    ";
+
+    private final String templateResource;
+
+    BuilderEmitter(String templateResource) {
+        this.templateResource = templateResource;
+    }
+
+    /**
+     * @return The template this emitter replaces.
+     */
+    public String getTemplateResource() {
+        return templateResource;
+    }
+
+    private static void writeFields(Appendable out, JavaClazz model) throws IOException {
+        for (JavaProperty f : model.getFields()) {
+            out.append(INDENT);
+            writeField(out, f);
+            out.append("\n");
+        }
+        out.append("\n");
+    }
+
+    private static void writeMethods(Appendable out, Iterable<JavaMethod> methods, String indent) throws IOException {
+        for (JavaMethod m : methods) {
+            out.append(indent);
+            writeMethodSignature(out, m);
+            out.append("{\n");
+            writeBody(out, m, indent + INDENT);
+            out.append(indent).append("}\n");
+        }
+    }
+
+    private static void writeConstructorsAndPublicMethods(Appendable out, JavaClazz model) throws IOException {
+        for (JavaMethod c : model.getConstructors()) {
+            out.append(INDENT).append("public ").append(c.getReturnType().getClassName()).append("(");
+            writeArguments(out, c);
+            out.append("){\n");
+            writeBody(out, c, INDENT + INDENT);
+            out.append(INDENT).append("}\n");
+        }
+        for (JavaMethod m : model.getMethods()) {
+            out.append(INDENT).append("public ").append(m.getReturnType().getSimpleName()).append(" ").append(m.getName()).append("(");
+            writeArguments(out, m);
+            out.append("){\n");
+            writeBody(out, m, INDENT + INDENT);
+            out.append(INDENT).append("}\n");
+        }
+    }
+
+    private static void writeArguments(Appendable out, JavaMethod method) throws IOException {
+        JavaProperty[] arguments = method.getArguments();
+        for (int i = 0; i < arguments.length; i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            out.append(arguments[i].getType().getSimpleName()).append(" ").append(arguments[i].getName());
+        }
+    }
+
+    private static void writeBody(Appendable out, JavaMethod method, String indent) throws IOException {
+        Object body = method.getAttributes().get(BODY);
+        if (body != null) {
+            out.append(indent).append(String.valueOf(body)).append("\n");
+        }
+    }
+}
@@ -24,6 +24,7 @@ import io.sundr.builder.annotations.Inline;
 import io.sundr.builder.internal.BuilderContext;
 import io.sundr.builder.internal.BuilderContextManager;
 import io.sundr.builder.internal.functions.ClazzAs;
+import io.sundr.codegen.coverters.JavaTypeCache;
 import io.sundr.codegen.functions.ClassToJavaType;
 import io.sundr.codegen.model.JavaClazz;
 import io.sundr.codegen.model.JavaClazzBuilder;
@@ -48,7 +49,13 @@ import static io.sundr.codegen.utils.TypeUtils.typeGenericOf;
 public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        if (env.processingOver()) {
+            reportStatistics();
+            return true;
+        }
+
         Elements elements = processingEnv.getElementUtils();
+        JavaTypeCache.forElements(elements).enterRound(env);
 
         //First pass register all externals
         for (TypeElement annotation : annotations) {
@@ -75,26 +82,30 @@ public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
                     }
                     BuilderContext ctx = BuilderContextManager.getContext();
                     JavaClazz clazz = ctx.getToClazz().apply(ModelUtils.getClassElement(typeElement));
+                    clazz = withBuildCache(clazz, generated.buildCacheEnabled());
+                    clazz = withCompactCollections(clazz, generated.compactCollectionsEnabled());
+                    clazz = withReusable(clazz, generated.reusable());
+                    Element[] originatingElements = originatingElementsOf(clazz, element, typeElement);
                     generateLocalDependenciesIfNeeded();
                     try {
                         generateFromClazz(ClazzAs.FLUENT.apply(clazz),
-                                Constants.DEFAULT_FLUENT_TEMPLATE_LOCATION);
+                                Constants.DEFAULT_FLUENT_TEMPLATE_LOCATION, originatingElements);
 
                         if (generated.editableEnabled()) {
-                            generateFromClazz(ClazzAs.EDITABLE_BUILDER.apply(clazz),
-                                    selectBuilderTemplate(generated.validationEnabled()));
+                            generateBuilder(ClazzAs.EDITABLE_BUILDER.apply(clazz),
+                                    generated.validationEnabled(), originatingElements);
 
                             generateFromClazz(ClazzAs.EDITABLE.apply(clazz),
-                                    Constants.DEFAULT_EDITABLE_TEMPLATE_LOCATION);
+                                    Constants.DEFAULT_EDITABLE_TEMPLATE_LOCATION, originatingElements);
                         } else {
-                            generateFromClazz(ClazzAs.BUILDER.apply(clazz),
-                                    selectBuilderTemplate(generated.validationEnabled()));
+                            generateBuilder(ClazzAs.BUILDER.apply(clazz),
+                                    generated.validationEnabled(), originatingElements);
                         }
 
 
                         for (final Inline inline : generated.inline()) {
                             generateFromClazz(inlineableOf(ctx, clazz, inline),
-                                    Constants.DEFAULT_CLASS_TEMPLATE_LOCATION);
+                                    Constants.DEFAULT_CLASS_TEMPLATE_LOCATION, originatingElements);
                         }
                     } catch (IOException e) {
                         throw new RuntimeException(e);
@@ -102,6 +113,7 @@ public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
                 }
             }
         }
+        writePendingSources();
         return true;
     }
 }
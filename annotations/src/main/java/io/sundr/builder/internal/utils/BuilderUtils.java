@@ -19,7 +19,6 @@ package io.sundr.builder.internal.utils;
 
 import io.sundr.builder.Constants;
 import io.sundr.builder.annotations.Inline;
-import io.sundr.builder.internal.BuildableRepository;
 import io.sundr.builder.internal.BuilderContext;
 import io.sundr.builder.internal.BuilderContextManager;
 import io.sundr.builder.internal.functions.PropertyAs;
@@ -36,8 +35,13 @@ import io.sundr.codegen.utils.StringUtils;
 
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.MirroredTypeException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 
 import static io.sundr.builder.Constants.DESCENDANT_OF;
@@ -50,6 +54,20 @@ public class BuilderUtils {
 
     public static final String BUILDABLE = "BUILDABLE";
 
+    private static final Set<String> PRIMITIVES = new HashSet<String>(Arrays.asList("boolean", "byte", "char", "short", "int", "long", "float", "double"));
+    private static final Map<String, String> UNBOXED = new HashMap<String, String>();
+
+    static {
+        UNBOXED.put(Boolean.class.getName(), "boolean");
+        UNBOXED.put(Byte.class.getName(), "byte");
+        UNBOXED.put(Character.class.getName(), "char");
+        UNBOXED.put(Short.class.getName(), "short");
+        UNBOXED.put(Integer.class.getName(), "int");
+        UNBOXED.put(Long.class.getName(), "long");
+        UNBOXED.put(Float.class.getName(), "float");
+        UNBOXED.put(Double.class.getName(), "double");
+    }
+
     public static JavaMethod findBuildableConstructor(JavaClazz clazz) {
         for (JavaMethod candidate : clazz.getConstructors()) {
             if (candidate.getArguments().length != 0) {
@@ -164,18 +182,68 @@ public class BuilderUtils {
             return new LinkedHashSet<JavaType>();
         }
 
-        Set<JavaType> result = new LinkedHashSet<JavaType>();
         BuilderContext ctx = BuilderContextManager.getContext();
-        BuildableRepository repository = ctx.getRepository();
-        for (TypeElement element : repository.getBuildables()) {
-            JavaType type = ctx.getToType().apply(element.toString());
-            if (isDescendant(type, item)) {
-                result.add(type);
+        Set<JavaType> descendants = ctx.getRepository().getDescendants(ctx.getToType()).get(item.getFullyQualifiedName());
+        return descendants != null ? new LinkedHashSet<JavaType>(descendants) : new LinkedHashSet<JavaType>();
+    }
+
+
+    /**
+     * Finds the buildables that the fluent of the specified clazz refers to, either directly through a buildable
+     * property or through the buildable descendants of a property type.
+     * @param clazz The buildable clazz.
+     * @return
+     */
+    public static Set<JavaType> getReferencedBuildables(JavaClazz clazz) {
+        Set<JavaType> result = new LinkedHashSet<JavaType>();
+        for (JavaProperty property : clazz.getFields()) {
+            JavaType type = property.getType();
+            if (isMap(type)) {
+                continue;
+            }
+            JavaType unwrapped = TypeAs.UNWRAP_COLLECTION_OF.apply(type);
+            if (isBuildable(type)) {
+                result.add(unwrapped);
             }
+            result.addAll(getBuildableDescendants(unwrapped));
         }
         return result;
     }
 
+    /**
+     * Finds the buildables that may be found at any depth under the fluent of the specified clazz. This includes the
+     * buildables referred by buildable superclasses, as their fluents are extended.
+     * @param clazz The buildable clazz.
+     * @return      The buildables, or null if a buildable in the tree cannot be resolved.
+     */
+    public static Set<JavaType> getReachableBuildables(JavaClazz clazz) {
+        BuilderContext ctx = BuilderContextManager.getContext();
+        Set<JavaType> result = new LinkedHashSet<JavaType>();
+        Set<String> visited = new HashSet<String>();
+        Queue<JavaClazz> queue = new LinkedList<JavaClazz>();
+        queue.add(clazz);
+        visited.add(clazz.getType().getFullyQualifiedName());
+
+        while (!queue.isEmpty()) {
+            JavaClazz current = queue.remove();
+            Set<JavaType> next = getReferencedBuildables(current);
+            result.addAll(next);
+            if (isBuildable(current.getType().getSuperClass())) {
+                next.add(current.getType().getSuperClass());
+            }
+
+            for (JavaType type : next) {
+                if (visited.add(type.getFullyQualifiedName())) {
+                    TypeElement element = ctx.getElements().getTypeElement(type.getFullyQualifiedName());
+                    if (element == null) {
+                        return null;
+                    }
+                    queue.add(ctx.getToClazz().apply(element));
+                }
+            }
+        }
+        return result;
+    }
 
     /**
      * Checks if type has any descendants that are "buildable"
@@ -187,14 +255,7 @@ public class BuilderUtils {
             return false;
         }
         BuilderContext ctx = BuilderContextManager.getContext();
-        BuildableRepository repository = ctx.getRepository();
-        for (TypeElement element : repository.getBuildables()) {
-            JavaType type = ctx.getToType().apply(element.toString());
-            if (isDescendant(type, item)) {
-                return true;
-            }
-        }
-        return false;
+        return ctx.getRepository().getDescendants(ctx.getToType()).containsKey(item.getFullyQualifiedName());
     }
 
     /**
@@ -221,7 +282,7 @@ public class BuilderUtils {
     }
 
     public static Set<JavaMethod> getInlineableConstructors(JavaProperty property) {
-        Set<JavaMethod> result = new HashSet<JavaMethod>();
+        Set<JavaMethod> result = new LinkedHashSet<JavaMethod>();
         JavaClazz clazz = PropertyAs.CLASS.apply(property);
         for (JavaMethod candidate : clazz.getConstructors()) {
             if (isInlineable(candidate)) {
@@ -267,4 +328,25 @@ public class BuilderUtils {
     public static boolean isSet(JavaType type) {
         return type.equals(SET) || type.getInterfaces().contains(SET);
     }
+
+    /**
+     * Finds the primitive type of a wrapper type.
+     * @param type  The type.
+     * @return      The primitive type (e.g. int for Integer), or null if the type is not a wrapper type.
+     */
+    public static JavaType unboxed(JavaType type) {
+        String primitive = UNBOXED.get(type.getFullyQualifiedName());
+        return primitive != null ? new JavaTypeBuilder().withClassName(primitive).build() : null;
+    }
+
+    /**
+     * Checks if the property is a list of wrapper types (e.g. List<Integer>), which fluents keep in primitive arrays.
+     */
+    public static boolean isPrimitiveList(JavaProperty property) {
+        return !property.isArray() && isList(property.getType()) && unboxed(TypeAs.UNWRAP_COLLECTION_OF.apply(property.getType())) != null;
+    }
+
+    public static boolean isPrimitive(JavaType type) {
+        return (type.getPackageName() == null || type.getPackageName().isEmpty()) && PRIMITIVES.contains(type.getClassName());
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.dsl.internal.element.functions;
+
+import io.sundr.Function;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts keywords to a {@link BitSet}, assigning each keyword an ordinal the first time it is seen.
+ * Masks are only comparable when created by the same instance.
+ */
+public class ToKeywordMask implements Function<Collection<String>, BitSet> {
+
+    private final Map<String, Integer> ordinals = new HashMap<String, Integer>();
+
+    public BitSet apply(Collection<String> keywords) {
+        BitSet mask = new BitSet();
+        if (keywords != null) {
+            for (String keyword : keywords) {
+                mask.set(ordinalOf(keyword));
+            }
+        }
+        return mask;
+    }
+
+    public int ordinalOf(String keyword) {
+        Integer ordinal = ordinals.get(keyword);
+        if (ordinal == null) {
+            ordinal = ordinals.size();
+            ordinals.put(keyword, ordinal);
+        }
+        return ordinal;
+    }
+}
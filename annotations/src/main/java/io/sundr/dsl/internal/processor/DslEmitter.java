@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.dsl.internal.processor;
+
+import io.sundr.codegen.generator.CodeEmitter;
+import io.sundr.codegen.model.JavaClazz;
+import io.sundr.codegen.model.JavaMethod;
+import io.sundr.codegen.model.JavaProperty;
+
+import java.io.IOException;
+
+import static io.sundr.codegen.utils.DeclarationUtils.writeClassFooter;
+import static io.sundr.codegen.utils.DeclarationUtils.writeClassHeader;
+import static io.sundr.codegen.utils.DeclarationUtils.writePackageAndImports;
+
+/**
+ * Template-free equivalent of the dsl template.
+ */
+public enum DslEmitter implements CodeEmitter<JavaClazz> {
+
+    INSTANCE;
+
+    @Override
+    public void emit(JavaClazz model, Appendable out) throws IOException {
+        writePackageAndImports(out, model);
+        out.append("\n");
+        writeClassHeader(out, model);
+        for (JavaMethod m : model.getMethods()) {
+            out.append("    ").append(m.getReturnType().getClassName()).append(" ").append(m.getName()).append("(");
+            JavaProperty[] arguments = m.getArguments();
+            for (int i = 0; i < arguments.length; i++) {
+                if (i > 0) {
+                    out.append(", ");
+                }
+                out.append(arguments[i].getType().getSimpleName()).append(" ").append(arguments[i].getName());
+            }
+            out.append(");\n");
+        }
+        writeClassFooter(out);
+    }
+}
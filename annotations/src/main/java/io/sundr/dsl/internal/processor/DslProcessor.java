@@ -16,6 +16,7 @@
 
 package io.sundr.dsl.internal.processor;
 
+import io.sundr.codegen.coverters.JavaTypeCache;
 import io.sundr.codegen.model.JavaClazz;
 import io.sundr.codegen.model.JavaClazzBuilder;
 import io.sundr.codegen.model.JavaKind;
@@ -26,6 +27,7 @@ import io.sundr.codegen.utils.ModelUtils;
 import io.sundr.dsl.annotations.InterfaceName;
 import io.sundr.dsl.internal.utils.JavaTypeUtils;
 
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.lang.model.element.Element;
@@ -34,13 +36,20 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.File;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import static io.sundr.dsl.internal.utils.DslUtils.createRootInterface;
 import static io.sundr.dsl.internal.utils.GraphUtils.createGraph;
+import static io.sundr.dsl.internal.utils.GraphUtils.minimize;
 import static io.sundr.dsl.internal.utils.JavaTypeUtils.executablesToInterfaces;
 
 @SupportedAnnotationTypes("io.sundr.dsl.annotations.Dsl")
@@ -48,9 +57,43 @@ public class DslProcessor extends JavaGeneratingProcessor {
 
     public static final String DEFAULT_TEMPLATE_LOCATION = "templates/dsl/dsl.vm";
 
+    /**
+     * Processor option that points to a file, where the size of the graph and the generated interfaces of each dsl,
+     * along with the time spent in each phase, are written as comma separated values.
+     */
+    public static final String REPORT_OPTION = "sundrio.dsl.report";
+
+    /**
+     * Processor option that enables merging the equivalent states of the dsl graph, before interfaces are generated.
+     */
+    public static final String MINIMIZE_OPTION = "sundrio.dsl.minimize";
+
+    private final List<DslStatistics> reports = new ArrayList<DslStatistics>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        registerEmitter(DEFAULT_TEMPLATE_LOCATION, DslEmitter.INSTANCE);
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> options = new LinkedHashSet<String>(super.getSupportedOptions());
+        options.add(REPORT_OPTION);
+        options.add(MINIMIZE_OPTION);
+        return options;
+    }
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        if (env.processingOver()) {
+            reportStatistics();
+            writeReport();
+            return true;
+        }
+
         Elements elements = processingEnv.getElementUtils();
+        JavaTypeCache.forElements(elements).enterRound(env);
         Types types = processingEnv.getTypeUtils();
         DslProcessorContext context = new DslProcessorContext(elements, types);
 
@@ -60,48 +103,129 @@ public class DslProcessor extends JavaGeneratingProcessor {
                     TypeElement typeElement = (TypeElement) element;
                     InterfaceName interfaceName = element.getAnnotation(InterfaceName.class);
                     String targetInterface = interfaceName.value();
+                    String targetPackage = ModelUtils.getPackageElement(element).toString();
                     Set<JavaClazz> interfacesToGenerate = new LinkedHashSet<JavaClazz>();
+                    DslStatistics statistics = new DslStatistics(targetPackage + "." + targetInterface);
 
                     Collection<ExecutableElement> sorted = ElementFilter.methodsIn(typeElement.getEnclosedElements());
                     //1st step generate generic interface for all types.
+                    long start = System.nanoTime();
                     Set<JavaClazz> genericInterfaces = executablesToInterfaces(context, sorted);
                     for (JavaClazz clazz : genericInterfaces) {
                         if (!JavaTypeUtils.isEntryPoint(clazz)) {
                             interfacesToGenerate.add(clazz);
                         }
                     }
+                    Set<JavaClazz> keywordInterfaces = new LinkedHashSet<JavaClazz>(interfacesToGenerate);
+                    statistics.phase(DslStatistics.Phase.EXECUTABLES_TO_INTERFACES, System.nanoTime() - start);
 
                     //2nd step create dependency graph.
+                    start = System.nanoTime();
                     Set<JavaMethod> methods = new LinkedHashSet<JavaMethod>();
-                    Set<Node<JavaClazz>> graph = createGraph(genericInterfaces);
+                    Set<Node<JavaClazz>> graph = createGraph(genericInterfaces, context.getToKeywordMask());
+                    statistics.phase(DslStatistics.Phase.CREATE_GRAPH, System.nanoTime() - start);
+
+                    Set<Node<JavaClazz>> original = graph;
+                    if (isOptionEnabled(MINIMIZE_OPTION)) {
+                        start = System.nanoTime();
+                        graph = minimize(graph);
+                        statistics.phase(DslStatistics.Phase.MINIMIZE, System.nanoTime() - start);
+                    }
+
+                    start = System.nanoTime();
                     for (Node<JavaClazz> root : graph) {
                         JavaClazz current = root.getItem();
                         for (JavaMethod m : current.getMethods()) {
                             methods.add(new JavaMethodBuilder(m).withReturnType(current.getType()).build());
                         }
-                        interfacesToGenerate.add(createRootInterface(root, interfacesToGenerate));
+                        interfacesToGenerate.add(createRootInterface(context, root, interfacesToGenerate));
                     }
+                    statistics.phase(DslStatistics.Phase.CREATE_ROOT_INTERFACE, System.nanoTime() - start);
 
                     //Do generate the DSL interface
                     interfacesToGenerate.add(new JavaClazzBuilder()
                             .withNewType()
-                                .withPackageName(ModelUtils.getPackageElement(element).toString())
+                                .withPackageName(targetPackage)
                                 .withClassName(targetInterface)
                                 .withKind(JavaKind.INTERFACE)
                             .and()
                             .withMethods(methods)
                             .build());
 
+                    start = System.nanoTime();
                     try {
                         for (JavaClazz clazz : interfacesToGenerate) {
-                            generateFromClazz(clazz, DEFAULT_TEMPLATE_LOCATION);
+                            generateFromClazz(clazz, DEFAULT_TEMPLATE_LOCATION, typeElement);
                         }
                     } catch (IOException e) {
                         throw new RuntimeException(e);
                     }
+                    writePendingSources();
+                    statistics.phase(DslStatistics.Phase.RENDER, System.nanoTime() - start);
+
+                    if (processingEnv.getOptions().containsKey(REPORT_OPTION)) {
+                        if (graph != original) {
+                            Set<JavaClazz> unminimized = new LinkedHashSet<JavaClazz>(keywordInterfaces);
+                            for (Node<JavaClazz> root : original) {
+                                unminimized.add(createRootInterface(context, root, unminimized));
+                            }
+                            //The dsl interface itself isn't part of either set.
+                            int saved = countNames(unminimized) - (countNames(interfacesToGenerate) - 1);
+                            statistics.minimized(original, graph, saved);
+                        } else {
+                            statistics.graph(graph);
+                        }
+                        statistics.interfaces(keywordInterfaces, interfacesToGenerate);
+                        reports.add(statistics);
+                    }
                 }
             }
         }
+        writePendingSources();
         return true;
     }
+
+    private static int countNames(Set<JavaClazz> clazzes) {
+        Set<String> names = new LinkedHashSet<String>();
+        for (JavaClazz clazz : clazzes) {
+            names.add(clazz.getType().getFullyQualifiedName());
+        }
+        return names.size();
+    }
+
+    /**
+     * Writes the statistics of all the dsls processed so far to the file specified by {@link #REPORT_OPTION}, if any.
+     */
+    private void writeReport() {
+        String report = processingEnv.getOptions().get(REPORT_OPTION);
+        if (report == null || report.trim().isEmpty() || reports.isEmpty()) {
+            return;
+        }
+        File file = new File(report.trim());
+        if (file.getParentFile() != null && !file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Failed to create directory for dsl report: [" + file.getAbsolutePath() + "].");
+            return;
+        }
+        Writer writer = null;
+        try {
+            writer = new FileWriter(file);
+            writer.write(DslStatistics.csvHeader());
+            writer.write("\n");
+            for (DslStatistics statistics : reports) {
+                writer.write(statistics.toCsv());
+                writer.write("\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Failed to write dsl report: [" + file.getAbsolutePath() + "]: " + e.getMessage());
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    //ignore
+                }
+            }
+        }
+        reports.clear();
+    }
 }
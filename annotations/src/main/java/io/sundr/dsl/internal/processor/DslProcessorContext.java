@@ -19,6 +19,7 @@ package io.sundr.dsl.internal.processor;
 import io.sundr.Function;
 import io.sundr.codegen.coverters.JavaMethodFunction;
 import io.sundr.codegen.coverters.JavaPropertyFunction;
+import io.sundr.codegen.coverters.JavaTypeCache;
 import io.sundr.codegen.coverters.JavaTypeFunction;
 import io.sundr.codegen.model.JavaProperty;
 import io.sundr.codegen.model.JavaType;
@@ -26,8 +27,10 @@ import io.sundr.dsl.internal.element.functions.ToAllAnnotations;
 import io.sundr.dsl.internal.element.functions.ToExclusiveAnnotations;
 import io.sundr.dsl.internal.element.functions.ToKeywordAnnotations;
 import io.sundr.dsl.internal.element.functions.ToKeywordClassName;
+import io.sundr.dsl.internal.element.functions.ToKeywordMask;
 import io.sundr.dsl.internal.element.functions.ToAnyAnnotations;
 import io.sundr.dsl.internal.element.functions.ToTransitionClassName;
+import io.sundr.dsl.internal.type.functions.Combine;
 
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.util.Elements;
@@ -45,6 +48,8 @@ public class DslProcessorContext {
     private final ToKeywordAnnotations toKeywordAnnotations;
     private final ToTransitionClassName toTransitionClassName;
     private final ToKeywordClassName toKeywordClassName;
+    private final ToKeywordMask toKeywordMask;
+    private final Combine combine;
 
     public DslProcessorContext(Elements elements, Types types) {
         this.elements = elements;
@@ -57,12 +62,22 @@ public class DslProcessorContext {
         toTransitionClassName = new ToTransitionClassName(elements);
         toKeywordAnnotations = new ToKeywordAnnotations(elements);
         toKeywordClassName = new ToKeywordClassName();
+        toKeywordMask = new ToKeywordMask();
+        combine = new Combine();
     }
 
     public Elements getElements() {
         return elements;
     }
 
+    /**
+     * Returns the type cache that is shared with all other contexts that use the same {@link Elements}.
+     * @return  The type cache.
+     */
+    public JavaTypeCache getTypeCache() {
+        return JavaTypeCache.forElements(elements);
+    }
+
     public Function<String, JavaType> getToType() {
         return toType;
     }
@@ -94,4 +109,22 @@ public class DslProcessorContext {
     public ToKeywordClassName getToKeywordClassName() {
         return toKeywordClassName;
     }
+
+    /**
+     * Returns the function that encodes keywords as bit masks. Keyword ordinals are assigned by this context,
+     * so that the masks of all the keyword interfaces it creates can be compared with each other.
+     * @return  The keyword mask function.
+     */
+    public ToKeywordMask getToKeywordMask() {
+        return toKeywordMask;
+    }
+
+    /**
+     * Returns the function that combines keyword interfaces. Its cache lives as long as this context,
+     * so that nothing is retained across compilations.
+     * @return  The combine function.
+     */
+    public Combine getCombine() {
+        return combine;
+    }
 }
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.dsl.internal.processor;
+
+import io.sundr.codegen.model.JavaClazz;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static io.sundr.dsl.internal.Constants.IS_COMPOSITE;
+
+/**
+ * The size of the graph and of the generated interfaces of a single dsl, along with the time spent in each phase of its generation.
+ */
+public class DslStatistics {
+
+    public enum Phase {
+        EXECUTABLES_TO_INTERFACES("executablesToInterfaces"),
+        CREATE_GRAPH("createGraph"),
+        MINIMIZE("minimize"),
+        CREATE_ROOT_INTERFACE("createRootInterface"),
+        RENDER("render");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final String dsl;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private int nodes;
+    private int edges;
+    private int maxDepth;
+    private int rootInterfaces;
+    private int keywordInterfaces;
+    private int combinedInterfaces;
+    private int generatedInterfaces;
+    private int mergedStates;
+    private int savedInterfaces;
+
+    public DslStatistics(String dsl) {
+        this.dsl = dsl;
+    }
+
+    public void phase(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * Records the size of the graph. Nodes that are shared between paths are counted once.
+     * @param graph The root nodes of the graph.
+     */
+    public void graph(Set<Node<JavaClazz>> graph) {
+        Map<Node<JavaClazz>, Integer> depths = new IdentityHashMap<Node<JavaClazz>, Integer>();
+        rootInterfaces = graph.size();
+        maxDepth = 0;
+        edges = 0;
+        for (Node<JavaClazz> root : graph) {
+            maxDepth = Math.max(maxDepth, depthOf(root, depths));
+        }
+        nodes = depths.size();
+        for (Node<JavaClazz> node : depths.keySet()) {
+            edges += node.getTransitions().size();
+        }
+    }
+
+    /**
+     * Records the size of a minimized graph, along with the states and interfaces that minimization saved.
+     * @param original          The root nodes of the graph before minimization.
+     * @param minimized         The root nodes of the minimized graph.
+     * @param savedInterfaces   The number of interfaces that are not generated due to minimization.
+     */
+    public void minimized(Set<Node<JavaClazz>> original, Set<Node<JavaClazz>> minimized, int savedInterfaces) {
+        graph(original);
+        int originalNodes = nodes;
+        graph(minimized);
+        this.mergedStates = originalNodes - nodes;
+        this.savedInterfaces = savedInterfaces;
+    }
+
+    /**
+     * Records the number of interfaces that get generated. Interfaces are counted by name, as that's what ends up in a class file.
+     * @param keywords  The keyword interfaces.
+     * @param generated All the interfaces that get generated.
+     */
+    public void interfaces(Set<JavaClazz> keywords, Set<JavaClazz> generated) {
+        keywordInterfaces = namesOf(keywords).size();
+        Set<String> combined = new LinkedHashSet<String>();
+        for (JavaClazz clazz : generated) {
+            if (clazz.getType().getAttributes().containsKey(IS_COMPOSITE)) {
+                combined.add(clazz.getType().getFullyQualifiedName());
+            }
+        }
+        combinedInterfaces = combined.size();
+        generatedInterfaces = namesOf(generated).size();
+    }
+
+    public String getDsl() {
+        return dsl;
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public int getNodes() {
+        return nodes;
+    }
+
+    public int getEdges() {
+        return edges;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public int getRootInterfaces() {
+        return rootInterfaces;
+    }
+
+    public int getKeywordInterfaces() {
+        return keywordInterfaces;
+    }
+
+    public int getCombinedInterfaces() {
+        return combinedInterfaces;
+    }
+
+    public int getGeneratedInterfaces() {
+        return generatedInterfaces;
+    }
+
+    public int getMergedStates() {
+        return mergedStates;
+    }
+
+    public int getSavedInterfaces() {
+        return savedInterfaces;
+    }
+
+    /**
+     * Returns the names of the columns of {@link #toCsv()}.
+     * @return  A line of comma separated column names.
+     */
+    public static String csvHeader() {
+        StringBuilder sb = new StringBuilder("dsl,nodes,edges,maxDepth,rootInterfaces,keywordInterfaces,combinedInterfaces,generatedInterfaces,mergedStates,savedInterfaces");
+        for (Phase phase : Phase.values()) {
+            sb.append(",").append(phase.getLabel()).append("Micros");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the statistics as a line of comma separated values, in the order of {@link #csvHeader()}.
+     * @return  The line.
+     */
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(dsl)
+                .append(",").append(nodes)
+                .append(",").append(edges)
+                .append(",").append(maxDepth)
+                .append(",").append(rootInterfaces)
+                .append(",").append(keywordInterfaces)
+                .append(",").append(combinedInterfaces)
+                .append(",").append(generatedInterfaces)
+                .append(",").append(mergedStates)
+                .append(",").append(savedInterfaces);
+        for (Phase phase : Phase.values()) {
+            sb.append(",").append(TimeUnit.NANOSECONDS.toMicros(getPhaseNanos(phase)));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return dsl + " nodes: " + nodes + ", edges: " + edges + ", max depth: " + maxDepth + ", interfaces generated: " + generatedInterfaces
+                + " (" + combinedInterfaces + " combined, " + savedInterfaces + " saved by merging " + mergedStates + " states)";
+    }
+
+    private static int depthOf(Node<JavaClazz> node, Map<Node<JavaClazz>, Integer> depths) {
+        Integer depth = depths.get(node);
+        if (depth == null) {
+            depth = 0;
+            for (Node<JavaClazz> next : node.getTransitions()) {
+                depth = Math.max(depth, depthOf(next, depths));
+            }
+            depth++;
+            depths.put(node, depth);
+        }
+        return depth;
+    }
+
+    private static Set<String> namesOf(Set<JavaClazz> clazzes) {
+        if (clazzes.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> names = new LinkedHashSet<String>();
+        for (JavaClazz clazz : clazzes) {
+            names.add(clazz.getType().getFullyQualifiedName());
+        }
+        return names;
+    }
+}
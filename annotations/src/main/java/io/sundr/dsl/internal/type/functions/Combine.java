@@ -27,11 +27,8 @@ import io.sundr.dsl.internal.utils.JavaTypeUtils;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -44,15 +41,41 @@ import static io.sundr.dsl.internal.Constants.TRANSPARENT;
 import static io.sundr.dsl.internal.utils.JavaTypeUtils.getTerminatingTypes;
 import static io.sundr.dsl.internal.utils.JavaTypeUtils.toInterfaceName;
 
-public enum Combine implements Function<Collection<JavaClazz>, JavaClazz> {
+/**
+ * Combines alternative keyword interfaces into a single interface.
+ * Combinations are cached per instance, in a bounded least recently used cache. A combination only depends on the
+ * alternatives and their order, so a combination that gets evicted is recreated identically.
+ */
+public class Combine implements Function<Collection<JavaClazz>, JavaClazz> {
+
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    /**
+     * A function that doesn't cache combinations.
+     */
+    public static final Combine FUNCTION = new Combine(0);
+
+    private final Map<String, JavaClazz> combinations;
 
-    FUNCTION;
+    public Combine() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public Combine(final int cacheSize) {
+        this.combinations = Collections.synchronizedMap(new LinkedHashMap<String, JavaClazz>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JavaClazz> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
 
     @Override
     public JavaClazz apply(Collection<JavaClazz> alternatives) {
         String key = createKey(alternatives);
-        if (combinations.containsKey(key)) {
-            return combinations.get(key);
+        JavaClazz cached = combinations.get(key);
+        if (cached != null) {
+            return cached;
         }
 
         Set<JavaType> genericTypes = new LinkedHashSet<JavaType>();
@@ -158,20 +181,11 @@ public enum Combine implements Function<Collection<JavaClazz>, JavaClazz> {
     }
 
     private static String createKey(Collection<JavaClazz> alternatives) {
-        List<JavaClazz> clazzes = new LinkedList<JavaClazz>(alternatives);
-        Collections.sort(clazzes, new Comparator<JavaClazz>() {
-            @Override
-            public int compare(JavaClazz left, JavaClazz right) {
-                return left.getType().getFullyQualifiedName().compareTo(right.getType().getFullyQualifiedName());
-            }
-        });
-        return StringUtils.join(clazzes, new Function<JavaClazz, String>() {
+        return StringUtils.join(alternatives, new Function<JavaClazz, String>() {
             @Override
             public String apply(JavaClazz item) {
-                return item.getType().getSimpleName();
+                return item.getType().getPackageName() + "." + item.getType().getSimpleName();
             }
         }, "#");
     }
-
-    private static Map<String, JavaClazz> combinations = new HashMap<String, JavaClazz>();
 }
@@ -21,13 +21,16 @@ import io.sundr.codegen.model.JavaClazzBuilder;
 import io.sundr.codegen.model.JavaMethod;
 import io.sundr.codegen.model.JavaType;
 import io.sundr.codegen.model.JavaTypeBuilder;
+import io.sundr.dsl.internal.processor.DslProcessorContext;
 import io.sundr.dsl.internal.processor.Node;
 import io.sundr.dsl.internal.type.functions.Combine;
 import io.sundr.dsl.internal.type.functions.Generics;
 import io.sundr.dsl.internal.type.functions.Generify;
 
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 
 public final class DslUtils {
@@ -36,11 +39,12 @@ public final class DslUtils {
         //Utility Class
     }
 
-    public static JavaClazz createRootInterface(Node<JavaClazz> current, Set<JavaClazz> intermediate) {
+    public static JavaClazz createRootInterface(DslProcessorContext context, Node<JavaClazz> current, Set<JavaClazz> intermediate) {
         JavaClazz rootInterface = null;
         Set<JavaType> interfaces = new LinkedHashSet<JavaType>();
+        Map<Node<JavaClazz>, JavaClazz> transitions = new IdentityHashMap<Node<JavaClazz>, JavaClazz>();
         for (Node<JavaClazz> child : current.getTransitions()) {
-            JavaClazz transitionInterface = createTransitionInterface(child, intermediate);
+            JavaClazz transitionInterface = createTransitionInterface(context.getCombine(), child, intermediate, transitions);
             interfaces.add(transitionInterface.getType());
             intermediate.add(transitionInterface);
             intermediate.add(child.getItem());
@@ -55,13 +59,29 @@ public final class DslUtils {
                 .build();
     }
     
-    public static JavaClazz createTransitionInterface(Node<JavaClazz> current, Set<JavaClazz> intermediate) {
+    public static JavaClazz createTransitionInterface(DslProcessorContext context, Node<JavaClazz> current, Set<JavaClazz> intermediate) {
+        return createTransitionInterface(context.getCombine(), current, intermediate, new IdentityHashMap<Node<JavaClazz>, JavaClazz>());
+    }
+
+    /**
+     * Creates the transition interface of a node, reusing the interfaces already created for the nodes that the graph shares.
+     */
+    private static JavaClazz createTransitionInterface(Combine combine, Node<JavaClazz> current, Set<JavaClazz> intermediate, Map<Node<JavaClazz>, JavaClazz> transitions) {
+        JavaClazz transition = transitions.get(current);
+        if (transition == null) {
+            transition = doCreateTransitionInterface(combine, current, intermediate, transitions);
+            transitions.put(current, transition);
+        }
+        return transition;
+    }
+
+    private static JavaClazz doCreateTransitionInterface(Combine combine, Node<JavaClazz> current, Set<JavaClazz> intermediate, Map<Node<JavaClazz>, JavaClazz> transitions) {
         if (current.getTransitions().isEmpty()) {
             return current.getItem();
         } else if (current.getTransitions().size() == 1) {
-            Node next = current.getTransitions().iterator().next();
+            Node<JavaClazz> next = current.getTransitions().iterator().next();
             JavaClazz clazz = current.getItem();
-            JavaClazz nextClazz = createTransitionInterface(next, intermediate);
+            JavaClazz nextClazz = createTransitionInterface(combine, next, intermediate, transitions);
             JavaClazz transition = transition(clazz, nextClazz);
             intermediate.add(nextClazz);
             return transition;
@@ -70,15 +90,15 @@ public final class DslUtils {
             Set<JavaClazz> toCombine = new LinkedHashSet<JavaClazz>();
 
             for (Node<JavaClazz> v : current.getTransitions()) {
-                toCombine.add(createTransitionInterface(v, intermediate));
+                toCombine.add(createTransitionInterface(combine, v, intermediate, transitions));
             }
 
-            JavaClazz combined = Combine.FUNCTION.apply(Generify.FUNCTION.apply(toCombine));
+            JavaClazz combined = combine.apply(Generify.FUNCTION.apply(toCombine));
             intermediate.addAll(toCombine);
             
             if (JavaTypeUtils.isCardinalityMultiple(clazz)) {
                 JavaClazz selfRef = transition(clazz, combined);
-                return transition(clazz, Combine.FUNCTION.apply(Arrays.asList(combined, selfRef)));
+                return transition(clazz, combine.apply(Arrays.asList(combined, selfRef)));
             } else {
                 intermediate.add(combined);
                 return transition(clazz, combined);
@@ -18,20 +18,27 @@ package io.sundr.dsl.internal.utils;
 
 import io.sundr.codegen.model.JavaClazz;
 import io.sundr.codegen.model.JavaType;
+import io.sundr.dsl.internal.element.functions.ToKeywordMask;
 import io.sundr.dsl.internal.processor.Node;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
-import static io.sundr.dsl.internal.Constants.CARDINALITY_MULTIPLE;
 import static io.sundr.dsl.internal.Constants.EXCLUSIVE;
 import static io.sundr.dsl.internal.Constants.KEYWORDS;
 import static io.sundr.dsl.internal.Constants.REQUIRES_ALL;
 import static io.sundr.dsl.internal.Constants.REQUIRES_ANY;
+import static io.sundr.dsl.internal.utils.JavaTypeUtils.isCardinalityMultiple;
 import static io.sundr.dsl.internal.utils.JavaTypeUtils.isEntryPoint;
 import static io.sundr.dsl.internal.utils.JavaTypeUtils.isTerminal;
-import static io.sundr.dsl.internal.utils.JavaTypeUtils.isCardinalityMultiple;
 
 public final class GraphUtils {
 
@@ -40,98 +47,264 @@ public final class GraphUtils {
     }
 
     public static Set<Node<JavaClazz>> createGraph(Set<JavaClazz> clazzes) {
+        return createGraph(clazzes, new ToKeywordMask());
+    }
+
+    public static Set<Node<JavaClazz>> createGraph(Set<JavaClazz> clazzes, ToKeywordMask toKeywordMask) {
+        StateMachine machine = new StateMachine(clazzes, toKeywordMask);
         Set<Node<JavaClazz>> nodes = new LinkedHashSet<Node<JavaClazz>>();
         for (JavaClazz clazz : clazzes) {
             if (isEntryPoint(clazz)) {
-                nodes.add(createGraph(clazz, clazzes, new LinkedHashSet<JavaType>(), new LinkedHashSet<JavaType>()));
-
+                nodes.add(machine.nodeOf(clazz, new BitSet(), Collections.<JavaType>emptySet()));
             }
         }
         return nodes;
     }
 
     public static Node<JavaClazz> createGraph(JavaClazz root, Set<JavaClazz> all, Set<JavaType> path, Set<JavaType> visited) {
-        Set<JavaClazz> next = new LinkedHashSet<JavaClazz>();
-        Set<JavaType> currentPath = new LinkedHashSet<JavaType>(path);
-
-        if (!JavaTypeUtils.isTerminal(root)) {
-            currentPath.add(root.getType());
-            for (JavaClazz candidate : exclusion(all, visited)) {
-                if (!JavaTypeUtils.isEntryPoint(candidate) && isSatisfied(candidate, currentPath)) {
-                    next.add(candidate);
+        ToKeywordMask toKeywordMask = new ToKeywordMask();
+        StateMachine machine = new StateMachine(all, toKeywordMask);
+        Set<JavaType> unavailable = new LinkedHashSet<JavaType>();
+        unavailable.addAll(machine.onlyOnce(path));
+        unavailable.addAll(machine.onlyOnce(visited));
+        BitSet keywords = new BitSet();
+        for (JavaType type : path) {
+            keywords.or(toKeywordMask.apply(getKeywords(type.getAttributes().get(KEYWORDS))));
+        }
+        return machine.nodeOf(root, machine.relevant(keywords), unavailable);
+    }
+
+    /**
+     * Minimizes the graph, by merging the nodes that have the same item and equivalent transitions. The merged graph
+     * describes the same sequences of keywords, but equivalent states are represented (and turned into interfaces) only once.
+     * @param graph The root nodes of the graph.
+     * @return      The root nodes of the minimized graph.
+     */
+    public static Set<Node<JavaClazz>> minimize(Set<Node<JavaClazz>> graph) {
+        Map<Node<JavaClazz>, Node<JavaClazz>> minimized = new IdentityHashMap<Node<JavaClazz>, Node<JavaClazz>>();
+        Map<List<Object>, Node<JavaClazz>> canonical = new HashMap<List<Object>, Node<JavaClazz>>();
+        Set<Node<JavaClazz>> result = new LinkedHashSet<Node<JavaClazz>>();
+        for (Node<JavaClazz> root : graph) {
+            result.add(minimize(root, minimized, canonical));
+        }
+        return result;
+    }
+
+    private static Node<JavaClazz> minimize(Node<JavaClazz> node, Map<Node<JavaClazz>, Node<JavaClazz>> minimized, Map<List<Object>, Node<JavaClazz>> canonical) {
+        Node<JavaClazz> result = minimized.get(node);
+        if (result != null) {
+            return result;
+        }
+
+        Set<Node<JavaClazz>> transitions = new LinkedHashSet<Node<JavaClazz>>();
+        for (Node<JavaClazz> next : node.getTransitions()) {
+            transitions.add(minimize(next, minimized, canonical));
+        }
+
+        //Nodes don't override equals, so the signature compares the item and the (already minimized) transitions by identity.
+        List<Object> signature = new ArrayList<Object>(transitions.size() + 1);
+        signature.add(node.getItem());
+        signature.addAll(transitions);
+
+        result = canonical.get(signature);
+        if (result == null) {
+            result = transitions.equals(node.getTransitions()) ? node : new Node<JavaClazz>(node.getItem(), transitions);
+            canonical.put(signature, result);
+        }
+        minimized.put(node, result);
+        return result;
+    }
+
+    /**
+     * Builds the graph as a state machine, where each state is a keyword interface along with the keywords satisfied so far
+     * and the keyword interfaces that may no longer follow. Paths that reach the same state share the same sub graph,
+     * instead of exploring every permutation of the keywords that lead to it.
+     */
+    private static final class StateMachine {
+
+        private final Set<JavaClazz> all;
+        private final Map<JavaClazz, Constraints> constraints = new HashMap<JavaClazz, Constraints>();
+        //The types that can't appear twice in a path, along with the keywords that exclude them.
+        private final Map<JavaType, BitSet> once = new HashMap<JavaType, BitSet>();
+        //The keywords that are referenced by at least one requirement or exclusion.
+        private final BitSet relevant = new BitSet();
+        private final Map<State, Node<JavaClazz>> nodes = new HashMap<State, Node<JavaClazz>>();
+
+        private StateMachine(Set<JavaClazz> all, ToKeywordMask toKeywordMask) {
+            this.all = all;
+            for (JavaClazz clazz : all) {
+                Constraints c = new Constraints(clazz, toKeywordMask);
+                constraints.put(clazz, c);
+                if (!isTerminal(clazz) && !isCardinalityMultiple(clazz)) {
+                    once.put(clazz.getType(), c.exclusive);
                 }
+                relevant.or(c.requiresAll);
+                relevant.or(c.requiresAny);
+                relevant.or(c.exclusive);
             }
-            next.remove(root);
         }
 
-        Set<Node<JavaClazz>> nextVertices = new LinkedHashSet<Node<JavaClazz>>();
-        Set<JavaType> levelInterfaces = new LinkedHashSet<JavaType>();
-        levelInterfaces.addAll(visited);
+        private Node<JavaClazz> nodeOf(JavaClazz root, BitSet keywords, Set<JavaType> path) {
+            Set<JavaType> unavailable = withoutExcluded(path, keywords);
+            State state = new State(root, keywords, unavailable);
+            Node<JavaClazz> node = nodes.get(state);
+            if (node != null) {
+                return node;
+            }
+
+            Set<JavaClazz> next = new LinkedHashSet<JavaClazz>();
+            BitSet currentKeywords = keywords;
+            Set<JavaType> currentUnavailable = unavailable;
 
-        for (JavaClazz c : next) {
-            Node<JavaClazz> subGraph = createGraph(c, all, currentPath, levelInterfaces);
-            levelInterfaces.add(subGraph.getItem().getType());
-            levelInterfaces.addAll(subGraph.getItem().getType().getInterfaces());
-            if (subGraph.getTransitions().size() > 0 || JavaTypeUtils.isTerminal(subGraph.getItem())) {
-                nextVertices.add(subGraph);
+            if (!isTerminal(root)) {
+                currentKeywords = union(keywords, relevant(constraints.get(root).keywords));
+                currentUnavailable = union(unavailable, onlyOnce(Collections.singleton(root.getType())));
+                for (JavaClazz candidate : all) {
+                    if (!isEntryPoint(candidate) && !currentUnavailable.contains(candidate.getType()) && constraints.get(candidate).isSatisfied(currentKeywords)) {
+                        next.add(candidate);
+                    }
+                }
+                next.remove(root);
+            }
+
+            Set<Node<JavaClazz>> nextVertices = new LinkedHashSet<Node<JavaClazz>>();
+            Set<JavaType> levelUnavailable = currentUnavailable;
+
+            for (JavaClazz c : next) {
+                Node<JavaClazz> subGraph = nodeOf(c, currentKeywords, levelUnavailable);
+                levelUnavailable = union(levelUnavailable, onlyOnce(Collections.singleton(c.getType())));
+                levelUnavailable = union(levelUnavailable, onlyOnce(c.getType().getInterfaces()));
+                if (subGraph.getTransitions().size() > 0 || isTerminal(subGraph.getItem())) {
+                    nextVertices.add(subGraph);
+                }
             }
+
+            node = new Node<JavaClazz>(root, nextVertices);
+            nodes.put(state, node);
+            return node;
         }
-        return new Node<JavaClazz>(root, nextVertices);
-    }
 
-    private static Set<JavaClazz> exclusion(Set<JavaClazz> one, Set<JavaType> excluded) {
-        Set<JavaClazz> result = new LinkedHashSet<JavaClazz>();
-        for (JavaClazz item : one) {
-            if (!excluded.contains(item.getType()) || isTerminal(item) || isCardinalityMultiple(item)) {
-                result.add(item);
+        private Set<JavaType> onlyOnce(Set<JavaType> types) {
+            Set<JavaType> result = new LinkedHashSet<JavaType>();
+            for (JavaType type : types) {
+                if (once.containsKey(type)) {
+                    result.add(type);
+                }
             }
+            return result;
         }
-        return result;
-    }
 
+        /**
+         * Removes the types that are excluded by the specified keywords. Keywords only accumulate along a path, so these
+         * types can't follow anyway and keeping them would only split otherwise equal states.
+         */
+        private Set<JavaType> withoutExcluded(Set<JavaType> types, BitSet keywords) {
+            if (keywords.isEmpty()) {
+                return types;
+            }
+            Set<JavaType> result = new LinkedHashSet<JavaType>();
+            for (JavaType type : types) {
+                if (!once.get(type).intersects(keywords)) {
+                    result.add(type);
+                }
+            }
+            return result.size() == types.size() ? types : result;
+        }
+
+        private BitSet relevant(BitSet keywords) {
+            BitSet result = (BitSet) keywords.clone();
+            result.and(relevant);
+            return result;
+        }
+    }
 
-    private static boolean isSatisfied(JavaClazz candidate, Set<JavaType> visited) {
-        Set<String> visitedKeywords = getKeywords(visited);
+    /**
+     * The keywords of a keyword interface and its requirements, as masks.
+     */
+    private static final class Constraints {
 
-        Boolean multiple = (Boolean) candidate.getType().getAttributes().get(CARDINALITY_MULTIPLE);
-        Set<String> requiresAll = (Set<String>) candidate.getType().getAttributes().get(REQUIRES_ALL);
-        Set<String> requiresAny = (Set<String>) candidate.getType().getAttributes().get(REQUIRES_ANY);
-        Set<String> exclusive = (Set<String>) candidate.getType().getAttributes().get(EXCLUSIVE);
+        private final BitSet keywords;
+        private final BitSet requiresAll;
+        private final BitSet requiresAny;
+        private final BitSet exclusive;
 
-        //Eliminate circles if not supported
-        if (!multiple && visited.contains(candidate.getType())) {
-            return false;
+        private Constraints(JavaClazz clazz, ToKeywordMask toKeywordMask) {
+            Map<String, Object> attributes = clazz.getType().getAttributes();
+            this.keywords = toKeywordMask.apply(getKeywords(attributes.get(KEYWORDS)));
+            this.requiresAll = toKeywordMask.apply(getKeywords(attributes.get(REQUIRES_ALL)));
+            this.requiresAny = toKeywordMask.apply(getKeywords(attributes.get(REQUIRES_ANY)));
+            this.exclusive = toKeywordMask.apply(getKeywords(attributes.get(EXCLUSIVE)));
         }
 
-        //Check if path contains exclusive keywords
-        for (String e : exclusive) {
-            if (visitedKeywords.contains(e)) {
+        private boolean isSatisfied(BitSet visitedKeywords) {
+            //Check if path contains exclusive keywords
+            if (exclusive.intersects(visitedKeywords)) {
                 return false;
             }
-        }
 
-        //Check if "All" requirements are meet
-        for (String a : requiresAll) {
-            if (!visitedKeywords.contains(a)) {
-                return false;
+            //Check if "All" requirements are meet
+            for (int i = requiresAll.nextSetBit(0); i >= 0; i = requiresAll.nextSetBit(i + 1)) {
+                if (!visitedKeywords.get(i)) {
+                    return false;
+                }
             }
+
+            return requiresAny.isEmpty() || requiresAny.intersects(visitedKeywords);
         }
+    }
 
-        for (String a : requiresAny) {
-            if (visitedKeywords.contains(a)) {
-                return true;
-            }
+    /**
+     * The key of a node in the {@link StateMachine}.
+     */
+    private static final class State {
+
+        private final JavaClazz root;
+        private final BitSet keywords;
+        private final Set<JavaType> unavailable;
+        private final int hashCode;
+
+        private State(JavaClazz root, BitSet keywords, Set<JavaType> unavailable) {
+            this.root = root;
+            this.keywords = keywords;
+            this.unavailable = unavailable;
+            this.hashCode = 31 * (31 * root.hashCode() + keywords.hashCode()) + unavailable.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            State state = (State) o;
+            return root.equals(state.root) && keywords.equals(state.keywords) && unavailable.equals(state.unavailable);
         }
 
-        return requiresAny.isEmpty();
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
     }
 
-    private static Set<String> getKeywords(Set<JavaType> types) {
-        Set<String> result = new LinkedHashSet<String>();
-        for (JavaType type : types) {
-            Set<String> keywords = (Set<String>) type.getAttributes().get(KEYWORDS);
-            result.addAll(keywords != null ? keywords : Collections.<String>emptySet());
+    private static <T> Set<T> union(Set<T> left, Set<T> right) {
+        if (right.isEmpty() || left.containsAll(right)) {
+            return left;
         }
+        Set<T> result = new LinkedHashSet<T>(left);
+        result.addAll(right);
         return result;
     }
+
+    private static BitSet union(BitSet left, BitSet right) {
+        BitSet missing = (BitSet) right.clone();
+        missing.andNot(left);
+        if (missing.isEmpty()) {
+            return left;
+        }
+        missing.or(left);
+        return missing;
+    }
+
+    private static Collection<String> getKeywords(Object keywords) {
+        return keywords != null ? (Collection<String>) keywords : Collections.<String>emptySet();
+    }
 }
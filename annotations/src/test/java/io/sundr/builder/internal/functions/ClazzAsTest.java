@@ -24,11 +24,18 @@ import io.sundr.builder.internal.BuilderContextManager;
 import io.sundr.codegen.model.JavaClazz;
 import io.sundr.codegen.model.JavaClazzBuilder;
 import io.sundr.codegen.model.JavaKind;
+import io.sundr.codegen.model.JavaMethod;
+import io.sundr.codegen.model.JavaProperty;
 import io.sundr.codegen.model.JavaType;
+import org.junit.Assert;
 import org.junit.Test;
 
 import javax.lang.model.util.Elements;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
+import static io.sundr.builder.internal.utils.BuilderUtils.BUILDABLE;
 import static io.sundr.codegen.utils.StringUtils.join;
 
 public class ClazzAsTest {
@@ -51,6 +58,39 @@ public class ClazzAsTest {
         System.out.println(JavaTypeToString.INSTANCE.apply(result.getType()));
     }
 
+    @Test
+    public void testPrimitiveArrayToFluent() {
+        JavaClazz clazz = new JavaClazzBuilder()
+                .withNewType()
+                    .withClassName("MyClass")
+                    .withPackageName(getClass().getPackage().getName())
+                    .withGenericTypes(new JavaType[]{})
+                .endType()
+                .addNewField()
+                    .withName("values")
+                    .withArray(true)
+                    .withNewType()
+                        .withClassName("int")
+                        .withArray(true)
+                        .addToAttributes(BUILDABLE, false)
+                    .endType()
+                .endField()
+                .build();
+
+        JavaClazz result = ClazzAs.FLUENT.apply(clazz);
+        Set<String> fields = new HashSet<String>();
+        for (JavaProperty field : result.getFields()) {
+            fields.add(field.getName());
+        }
+        Assert.assertEquals(new HashSet<String>(Arrays.asList("values", "valuesSize")), fields);
+
+        for (JavaMethod method : result.getMethods()) {
+            if (method.getName().equals("addToValues") || method.getName().equals("withValues")) {
+                Assert.assertEquals("int", method.getArguments()[0].getType().getClassName());
+            }
+        }
+    }
+
     //Enum Singleton
     private enum JavaTypeToString implements Function<JavaType, String> {
         INSTANCE;
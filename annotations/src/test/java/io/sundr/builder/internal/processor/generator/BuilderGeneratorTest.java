@@ -17,14 +17,25 @@
 package io.sundr.builder.internal.processor.generator;
 
 import io.sundr.builder.Constants;
+import io.sundr.builder.internal.processor.BuilderEmitter;
 import io.sundr.codegen.generator.CodeGeneratorBuilder;
 import io.sundr.codegen.model.JavaClazz;
 import io.sundr.codegen.model.JavaClazzBuilder;
+import io.sundr.codegen.model.JavaKind;
 import org.junit.Test;
 
+import javax.lang.model.element.Modifier;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
 
 public class BuilderGeneratorTest {
 
@@ -55,6 +66,70 @@ public class BuilderGeneratorTest {
 
     }
 
+    @Test
+    public void testEmittersMatchTemplates() throws IOException {
+        JavaClazz javaClazz = new JavaClazzBuilder()
+                .withNewType()
+                .withKind(JavaKind.CLASS)
+                .withClassName("CircleFluent")
+                .withPackageName("my.test")
+                .endType()
+                .addNewField()
+                .addToModifiers(Modifier.PRIVATE)
+                .withName("radius")
+                .withNewType().withPackageName("java.lang").withClassName("Integer").endType()
+                .endField()
+                .addNewConstructor()
+                .addToModifiers(Modifier.PUBLIC)
+                .withNewReturnType().withPackageName("my.test").withClassName("CircleFluent").endReturnType()
+                .addNewArgument()
+                .withName("radius")
+                .withNewType().withPackageName("java.lang").withClassName("Integer").endType()
+                .endArgument()
+                .addToAttributes(Constants.BODY, "this.radius = radius;")
+                .endConstructor()
+                .addNewMethod()
+                .addToModifiers(Modifier.PUBLIC)
+                .withName("withRadius")
+                .withNewReturnType().withPackageName("my.test").withClassName("CircleFluent").endReturnType()
+                .addNewArgument()
+                .withName("radius")
+                .withNewType().withPackageName("java.util").withClassName("Date").endType()
+                .endArgument()
+                .addToAttributes(Constants.BODY, "this.radius = radius.getTime(); return this;")
+                .endMethod()
+                .build();
+
+        for (BuilderEmitter emitter : BuilderEmitter.values()) {
+            StringWriter template = new StringWriter();
+            new CodeGeneratorBuilder<JavaClazz>()
+                    .withModel(javaClazz)
+                    .withWriter(template)
+                    .withTemplateResource(emitter.getTemplateResource())
+                    .build().generate();
+
+            StringWriter emitted = new StringWriter();
+            new CodeGeneratorBuilder<JavaClazz>()
+                    .withModel(javaClazz)
+                    .withWriter(emitted)
+                    .withTemplateResource(emitter.getTemplateResource())
+                    .withEmitter(emitter)
+                    .build().generate();
+
+            assertThat(emitter.name(), tokens(emitted.toString()), is(tokens(template.toString())));
+        }
+    }
+
+    //Compares sources ignoring formatting.
+    private static List<String> tokens(String source) {
+        List<String> result = new ArrayList<String>();
+        Matcher matcher = Pattern.compile("\"(?:\\\\.|[^\"\\\\])*\"|[A-Za-z0-9_$.]+|\\S").matcher(source);
+        while (matcher.find()) {
+            result.add(matcher.group());
+        }
+        return result;
+    }
+
     private static void generate(JavaClazz model, File dir, String name, String templateResource) throws IOException {
         FileWriter fluentWriter = null;
         try {
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.dsl.internal.processor;
+
+import io.sundr.codegen.model.JavaClazz;
+import io.sundr.codegen.model.JavaClazzBuilder;
+import io.sundr.codegen.model.JavaKind;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class DslStatisticsTest {
+
+    @Test
+    public void testGraphStatistics() throws Exception {
+        Node<JavaClazz> end = node("End");
+        Node<JavaClazz> b = node("OptionB", end);
+        Node<JavaClazz> a = node("OptionA", b, end);
+        Node<JavaClazz> entry = node("Entry", a, b, end);
+
+        DslStatistics statistics = new DslStatistics("Test");
+        statistics.graph(Collections.singleton(entry));
+
+        //Shared nodes are only counted once.
+        assertEquals(4, statistics.getNodes());
+        assertEquals(6, statistics.getEdges());
+        assertEquals(4, statistics.getMaxDepth());
+        assertEquals(1, statistics.getRootInterfaces());
+
+        statistics.phase(DslStatistics.Phase.RENDER, 3000);
+        statistics.phase(DslStatistics.Phase.RENDER, 2000);
+        assertEquals("Test,4,6,4,1,0,0,0,0,0,0,0,0,0,5", statistics.toCsv());
+        assertEquals(DslStatistics.csvHeader().split(",").length, statistics.toCsv().split(",").length);
+    }
+
+    private static Node<JavaClazz> node(String name, Node<JavaClazz>... transitions) {
+        Set<Node<JavaClazz>> next = new LinkedHashSet<Node<JavaClazz>>();
+        Collections.addAll(next, transitions);
+        JavaClazz clazz = new JavaClazzBuilder()
+                .withNewType()
+                    .withKind(JavaKind.INTERFACE)
+                    .withPackageName(DslStatisticsTest.class.getPackage().getName())
+                    .withClassName(name + "Interface")
+                .endType()
+                .build();
+        return new Node<JavaClazz>(clazz, next);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.dsl.internal.utils;
+
+import io.sundr.codegen.model.JavaClazz;
+import io.sundr.codegen.model.JavaClazzBuilder;
+import io.sundr.codegen.model.JavaKind;
+import io.sundr.dsl.internal.processor.Node;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static io.sundr.dsl.internal.Constants.CARDINALITY_MULTIPLE;
+import static io.sundr.dsl.internal.Constants.EXCLUSIVE;
+import static io.sundr.dsl.internal.Constants.IS_ENTRYPOINT;
+import static io.sundr.dsl.internal.Constants.IS_TERMINAL;
+import static io.sundr.dsl.internal.Constants.KEYWORDS;
+import static io.sundr.dsl.internal.Constants.REQUIRES_ALL;
+import static io.sundr.dsl.internal.Constants.REQUIRES_ANY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class GraphUtilsTest {
+
+    private final JavaClazz entry = keyword("Entry", true, false, Collections.<String>emptySet());
+    private final JavaClazz optionA = keyword("OptionA", false, false, Collections.<String>emptySet());
+    private final JavaClazz optionB = keyword("OptionB", false, false, Collections.<String>emptySet());
+    private final JavaClazz end = keyword("End", false, true, Collections.<String>emptySet());
+    private final JavaClazz exclusiveEnd = keyword("ExclusiveEnd", false, true, Collections.singleton("A"));
+
+    @Test
+    public void testCreateGraph() throws Exception {
+        Set<Node<JavaClazz>> graph = GraphUtils.createGraph(new LinkedHashSet<JavaClazz>(Arrays.asList(entry, optionA, optionB, end, exclusiveEnd)));
+        assertEquals(1, graph.size());
+
+        Node<JavaClazz> root = graph.iterator().next();
+        assertSame(entry, root.getItem());
+        assertEquals(4, root.getTransitions().size());
+
+        Iterator<Node<JavaClazz>> transitions = root.getTransitions().iterator();
+        Node<JavaClazz> a = transitions.next();
+        Node<JavaClazz> b = transitions.next();
+        assertSame(optionA, a.getItem());
+        assertSame(optionB, b.getItem());
+
+        //Option A excludes the exclusive end.
+        assertEquals(2, a.getTransitions().size());
+        Node<JavaClazz> bAfterA = a.getTransitions().iterator().next();
+        assertSame(optionB, bAfterA.getItem());
+        assertEquals(1, bAfterA.getTransitions().size());
+        assertEquals(2, b.getTransitions().size());
+    }
+
+    @Test
+    public void testCreateGraphSharesEqualStates() throws Exception {
+        Set<Node<JavaClazz>> graph = GraphUtils.createGraph(new LinkedHashSet<JavaClazz>(Arrays.asList(entry, optionA, optionB, end)));
+        Node<JavaClazz> root = graph.iterator().next();
+
+        Iterator<Node<JavaClazz>> transitions = root.getTransitions().iterator();
+        Node<JavaClazz> a = transitions.next();
+        Node<JavaClazz> b = transitions.next();
+        Node<JavaClazz> bAfterA = a.getTransitions().iterator().next();
+
+        //Once past option B, it makes no difference whether option A was used or skipped.
+        assertSame(b, bAfterA);
+    }
+
+    @Test
+    public void testMinimize() throws Exception {
+        //Two equivalent, but distinct paths to the end.
+        Node<JavaClazz> bAfterA = new Node<JavaClazz>(optionB, Collections.singleton(new Node<JavaClazz>(end, Collections.<Node<JavaClazz>>emptySet())));
+        Node<JavaClazz> b = new Node<JavaClazz>(optionB, Collections.singleton(new Node<JavaClazz>(end, Collections.<Node<JavaClazz>>emptySet())));
+        Node<JavaClazz> a = new Node<JavaClazz>(optionA, Collections.singleton(bAfterA));
+        Node<JavaClazz> root = new Node<JavaClazz>(entry, new LinkedHashSet<Node<JavaClazz>>(Arrays.asList(a, b)));
+
+        Set<Node<JavaClazz>> minimized = GraphUtils.minimize(Collections.singleton(root));
+        assertEquals(1, minimized.size());
+
+        Node<JavaClazz> minimizedRoot = minimized.iterator().next();
+        Iterator<Node<JavaClazz>> transitions = minimizedRoot.getTransitions().iterator();
+        Node<JavaClazz> minimizedA = transitions.next();
+        Node<JavaClazz> minimizedB = transitions.next();
+        assertSame(optionA, minimizedA.getItem());
+        assertSame(optionB, minimizedB.getItem());
+        assertSame(minimizedB, minimizedA.getTransitions().iterator().next());
+    }
+
+    private static JavaClazz keyword(String name, boolean entryPoint, boolean terminal, Set<String> exclusive) {
+        return new JavaClazzBuilder()
+                .withNewType()
+                    .withKind(JavaKind.INTERFACE)
+                    .withPackageName(GraphUtilsTest.class.getPackage().getName())
+                    .withClassName(name + "Interface")
+                    .addToAttributes(IS_ENTRYPOINT, entryPoint)
+                    .addToAttributes(IS_TERMINAL, terminal)
+                    .addToAttributes(CARDINALITY_MULTIPLE, false)
+                    .addToAttributes(KEYWORDS, Collections.singleton(name.substring(name.length() - 1)))
+                    .addToAttributes(REQUIRES_ALL, Collections.<String>emptySet())
+                    .addToAttributes(REQUIRES_ANY, Collections.<String>emptySet())
+                    .addToAttributes(EXCLUSIVE, exclusive)
+                .endType()
+                .build();
+    }
+}
@@ -48,6 +48,8 @@ import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -129,6 +131,25 @@ public class JavaTypeUtilsTest {
         assertEquals(combined.getType().getAttributes().get(ORIGINAL_RETURN_TYPE), TRANSPARENT);
     }
 
+    @Test
+    public void testCombineCache() throws Exception {
+        TypeElement typeElement = elements.getTypeElement(TwoNonTerminal.class.getCanonicalName());
+        List<ExecutableElement> methods = ElementFilter.methodsIn(typeElement.getEnclosedElements());
+        JavaClazz leftClazz = executableToInterface(dslContext, methods.get(0));
+        JavaClazz rightClazz = executableToInterface(dslContext, methods.get(1));
+
+        Combine combine = new Combine(1);
+        JavaClazz combined = combine.apply(Arrays.asList(leftClazz, rightClazz));
+        assertSame(combined, combine.apply(Arrays.asList(leftClazz, rightClazz)));
+
+        //Evicted combinations are recreated identically.
+        combine.apply(Arrays.asList(rightClazz, leftClazz));
+        JavaClazz recreated = combine.apply(Arrays.asList(leftClazz, rightClazz));
+        assertNotSame(combined, recreated);
+        assertEquals(combined.getType().getSimpleName(), recreated.getType().getSimpleName());
+        assertEquals(combined.getType().getInterfaces(), recreated.getType().getInterfaces());
+    }
+
     @Test
     public void testCombineTwoTerminal() throws Exception {
         TypeElement typeElement = elements.getTypeElement(TwoTerminal.class.getCanonicalName());
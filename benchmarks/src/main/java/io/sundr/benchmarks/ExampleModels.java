@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.benchmarks;
+
+import io.sundr.codegen.model.JavaClazz;
+import io.sundr.dsl.internal.processor.DslProcessor;
+
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.element.Element;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the models that the processors generate sources from, by running javac over the sources of an example.
+ */
+public final class ExampleModels {
+
+    private static final String EXAMPLES_DIRECTORY = "sundrio.benchmark.examples";
+
+    private ExampleModels() {
+        //Utility Class
+    }
+
+    /**
+     * Runs the dsl processor over the specified example and returns the models it would render, along with their templates.
+     * @param example   The name of the example (e.g. kubernetes).
+     * @return          A map of model to template resource, in generation order.
+     */
+    public static Map<JavaClazz, String> dslModelsOf(String example) throws IOException {
+        CapturingDslProcessor processor = new CapturingDslProcessor();
+        compile(example, processor);
+        return processor.getModels();
+    }
+
+    private static void compile(String example, Processor processor) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No system java compiler found. Benchmarks need to run on a JDK.");
+        }
+
+        File sources = sourcesOf(example);
+        File output = File.createTempFile("sundrio-benchmark", "");
+        if (!output.delete() || !output.mkdirs()) {
+            throw new IOException("Failed to create temporary directory:" + output.getAbsolutePath());
+        }
+
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        try {
+            List<File> files = new ArrayList<File>();
+            collect(sources, files);
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(files);
+            List<String> options = Arrays.asList("-proc:only",
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", output.getAbsolutePath(),
+                    "-s", output.getAbsolutePath());
+
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+            task.setProcessors(Collections.singletonList(processor));
+            if (!task.call()) {
+                throw new IllegalStateException("Failed to process example:" + example);
+            }
+        } finally {
+            fileManager.close();
+        }
+    }
+
+    private static File sourcesOf(String example) {
+        String examples = System.getProperty(EXAMPLES_DIRECTORY);
+        List<File> candidates = examples != null
+                ? Arrays.asList(new File(examples))
+                : Arrays.asList(new File("examples"), new File("../examples"));
+
+        for (File candidate : candidates) {
+            File sources = new File(candidate, example + File.separator + "src" + File.separator + "main" + File.separator + "java");
+            if (sources.isDirectory()) {
+                return sources;
+            }
+        }
+        throw new IllegalStateException("Could not find the sources of example: " + example + ". Please set the " + EXAMPLES_DIRECTORY + " system property.");
+    }
+
+    private static void collect(File file, List<File> files) {
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                for (File child : children) {
+                    collect(child, files);
+                }
+            }
+        } else if (file.getName().endsWith(".java")) {
+            files.add(file);
+        }
+    }
+
+    @SupportedAnnotationTypes("io.sundr.dsl.annotations.Dsl")
+    private static class CapturingDslProcessor extends DslProcessor {
+
+        private final Map<JavaClazz, String> models = new LinkedHashMap<JavaClazz, String>();
+
+        @Override
+        public void generateFromClazz(JavaClazz model, String resourceName, Element... originatingElements) throws IOException {
+            models.put(model, resourceName);
+        }
+
+        public Map<JavaClazz, String> getModels() {
+            return models;
+        }
+    }
+}
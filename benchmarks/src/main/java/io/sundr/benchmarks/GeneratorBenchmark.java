@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.benchmarks;
+
+import io.sundr.codegen.generator.CodeEmitter;
+import io.sundr.codegen.generator.CodeGeneratorBuilder;
+import io.sundr.codegen.generator.GeneratorEngine;
+import io.sundr.codegen.model.JavaClazz;
+import io.sundr.dsl.internal.processor.DslEmitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering the models of the kubernetes dsl example with velocity templates and with emitters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    private Map<JavaClazz, String> models;
+    private GeneratorEngine engine;
+
+    @Setup
+    public void setUp() throws IOException {
+        models = ExampleModels.dslModelsOf("kubernetes");
+        engine = GeneratorEngine.getDefault();
+    }
+
+    @Benchmark
+    public void velocity(Blackhole blackhole) throws IOException {
+        for (Map.Entry<JavaClazz, String> entry : models.entrySet()) {
+            blackhole.consume(render(entry.getKey(), entry.getValue(), null));
+        }
+    }
+
+    @Benchmark
+    public void emitter(Blackhole blackhole) throws IOException {
+        for (Map.Entry<JavaClazz, String> entry : models.entrySet()) {
+            blackhole.consume(render(entry.getKey(), entry.getValue(), DslEmitter.INSTANCE));
+        }
+    }
+
+    private String render(JavaClazz model, String resourceName, CodeEmitter<JavaClazz> emitter) throws IOException {
+        StringWriter writer = new StringWriter();
+        new CodeGeneratorBuilder<JavaClazz>()
+                .withGeneratorEngine(engine)
+                .withModel(model)
+                .withWriter(writer)
+                .withTemplateResource(resourceName)
+                .withEmitter(emitter)
+                .build()
+                .generate();
+        return writer.toString();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.benchmarks;
+
+import io.sundr.codegen.model.JavaClazz;
+import io.sundr.codegen.model.JavaClazzBuilder;
+import io.sundr.codegen.model.JavaKind;
+import io.sundr.dsl.internal.processor.Node;
+import io.sundr.dsl.internal.utils.GraphUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static io.sundr.dsl.internal.Constants.CARDINALITY_MULTIPLE;
+import static io.sundr.dsl.internal.Constants.EXCLUSIVE;
+import static io.sundr.dsl.internal.Constants.IS_ENTRYPOINT;
+import static io.sundr.dsl.internal.Constants.IS_TERMINAL;
+import static io.sundr.dsl.internal.Constants.KEYWORDS;
+import static io.sundr.dsl.internal.Constants.REQUIRES_ALL;
+import static io.sundr.dsl.internal.Constants.REQUIRES_ANY;
+
+/**
+ * Measures the construction of the dsl graph, over synthetic dsls that resemble the kubernetes example.
+ * Options come in groups of four alternatives that exclude each other and most of them require an option of the previous group.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphBenchmark {
+
+    private static final String PACKAGE = "io.sundr.benchmarks.dsl";
+    private static final int GROUP_SIZE = 4;
+
+    @Param({"20", "30", "40"})
+    public int options;
+
+    private Set<JavaClazz> interfaces;
+
+    @Setup
+    public void setUp() {
+        interfaces = new LinkedHashSet<JavaClazz>();
+        interfaces.add(keyword("Entry", true, false, keywords("Entry"), keywords(), keywords()));
+        for (int i = 0; i < options; i++) {
+            String group = "Group" + (i / GROUP_SIZE);
+            //The last option of each group can be used without the previous group.
+            Set<String> requiresAny = i >= GROUP_SIZE && i % GROUP_SIZE != GROUP_SIZE - 1
+                    ? keywords("Group" + (i / GROUP_SIZE - 1))
+                    : keywords();
+            interfaces.add(keyword("Option" + i, false, false, keywords(group), requiresAny, keywords(group)));
+        }
+        interfaces.add(keyword("End", false, true, keywords(), keywords("Group0"), keywords()));
+    }
+
+    @Benchmark
+    public Set<Node<JavaClazz>> createGraph() {
+        return GraphUtils.createGraph(interfaces);
+    }
+
+    private static JavaClazz keyword(String name, boolean entryPoint, boolean terminal, Set<String> keywords, Set<String> requiresAny, Set<String> exclusive) {
+        return new JavaClazzBuilder()
+                .withNewType()
+                    .withKind(JavaKind.INTERFACE)
+                    .withPackageName(PACKAGE)
+                    .withClassName(name + "Interface")
+                    .addToAttributes(IS_ENTRYPOINT, entryPoint)
+                    .addToAttributes(IS_TERMINAL, terminal)
+                    .addToAttributes(CARDINALITY_MULTIPLE, false)
+                    .addToAttributes(KEYWORDS, keywords)
+                    .addToAttributes(REQUIRES_ALL, Collections.<String>emptySet())
+                    .addToAttributes(REQUIRES_ANY, requiresAny)
+                    .addToAttributes(EXCLUSIVE, exclusive)
+                .endType()
+                .build();
+    }
+
+    private static Set<String> keywords(String... keywords) {
+        return new LinkedHashSet<String>(Arrays.asList(keywords));
+    }
+}
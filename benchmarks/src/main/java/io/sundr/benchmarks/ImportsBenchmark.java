@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.benchmarks;
+
+import io.sundr.codegen.model.JavaClazz;
+import io.sundr.codegen.model.JavaClazzBuilder;
+import io.sundr.codegen.model.JavaKind;
+import io.sundr.codegen.model.JavaMethod;
+import io.sundr.codegen.model.JavaMethodBuilder;
+import io.sundr.codegen.model.JavaType;
+import io.sundr.codegen.model.JavaTypeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures import resolution of a large fluent, both the first (computing) call and the repeated calls made while rendering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImportsBenchmark {
+
+    @Param({"500"})
+    public int methods;
+
+    //The number of times templates ask for the imports of a single model.
+    @Param({"10"})
+    public int lookups;
+
+    private JavaClazz fluent;
+
+    @Setup
+    public void setUp() {
+        JavaType type = new JavaTypeBuilder()
+                .withKind(JavaKind.CLASS)
+                .withPackageName("io.sundr.benchmarks.model")
+                .withClassName("LargeFluent")
+                .build();
+
+        JavaClazzBuilder builder = new JavaClazzBuilder().withType(type);
+        for (int i = 0; i < methods; i++) {
+            JavaType argumentType = new JavaTypeBuilder()
+                    .withKind(JavaKind.CLASS)
+                    .withPackageName("io.sundr.benchmarks.model.p" + (i % 50))
+                    .withClassName("Property" + i)
+                    .build();
+
+            JavaMethod method = new JavaMethodBuilder()
+                    .withName("withProperty" + i)
+                    .withReturnType(type)
+                    .addNewArgument()
+                        .withName("property" + i)
+                        .withType(argumentType)
+                    .endArgument()
+                    .build();
+            builder.addToMethods(method);
+        }
+        fluent = builder.build();
+    }
+
+    @Benchmark
+    public Set<JavaType> computeImports() {
+        //A fresh model, so that nothing is cached.
+        return copyOf(fluent).getImports();
+    }
+
+    @Benchmark
+    public void renderImports(Blackhole blackhole) {
+        JavaClazz model = copyOf(fluent);
+        for (int i = 0; i < lookups; i++) {
+            blackhole.consume(model.getImports());
+        }
+    }
+
+    private static JavaClazz copyOf(JavaClazz clazz) {
+        return new JavaClazz(clazz.getType(), clazz.getConstructors(), clazz.getMethods(), clazz.getFields(), Collections.<JavaType>emptySet(), clazz.getAttributes(), clazz.getNested());
+    }
+}
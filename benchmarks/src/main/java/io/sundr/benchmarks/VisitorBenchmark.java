@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.benchmarks;
+
+import io.sundr.builder.ParallelVisitor;
+import io.sundr.builder.Visitor;
+import io.sundr.codegen.model.JavaClazzBuilder;
+import io.sundr.codegen.model.JavaKind;
+import io.sundr.codegen.model.JavaMethodBuilder;
+import io.sundr.codegen.model.JavaPropertyBuilder;
+import io.sundr.codegen.model.JavaTypeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Compares sequential and parallel visiting of a large builder tree, with a read-only visitor that validates names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VisitorBenchmark {
+
+    private static final Pattern VALID_NAME = Pattern.compile("[a-zA-Z_$][a-zA-Z0-9_$]*(\\.[a-zA-Z_$][a-zA-Z0-9_$]*)*");
+
+    @Param({"2000"})
+    public int methods;
+
+    private JavaClazzBuilder tree;
+
+    @Setup
+    public void setUp() {
+        tree = new JavaClazzBuilder()
+                .withNewType()
+                .withKind(JavaKind.CLASS)
+                .withPackageName("io.sundr.benchmarks.model")
+                .withClassName("LargeModel")
+                .and();
+
+        for (int i = 0; i < methods; i++) {
+            JavaMethodBuilder method = new JavaMethodBuilder()
+                    .withName("method" + i)
+                    .withNewReturnType()
+                    .withKind(JavaKind.CLASS)
+                    .withPackageName("io.sundr.benchmarks.model.p" + (i % 50))
+                    .withClassName("Result" + i)
+                    .and();
+
+            for (int j = 0; j < 4; j++) {
+                method.addToArguments(new JavaPropertyBuilder()
+                        .withName("arg" + j)
+                        .withType(new JavaTypeBuilder()
+                                .withKind(JavaKind.CLASS)
+                                .withPackageName("io.sundr.benchmarks.model.p" + (j % 50))
+                                .withClassName("Argument" + j)
+                                .build())
+                        .build());
+            }
+            tree.addToMethods(method.build());
+        }
+    }
+
+    @Benchmark
+    public long sequential() {
+        NameValidator validator = new NameValidator();
+        tree.accept(validator);
+        return validator.valid.get();
+    }
+
+    @Benchmark
+    public long parallel() {
+        NameValidator validator = new ParallelNameValidator();
+        tree.accept(validator);
+        return validator.valid.get();
+    }
+
+    private static class NameValidator implements Visitor<Object> {
+
+        final AtomicLong valid = new AtomicLong();
+
+        @Override
+        public void visit(Object element) {
+            if (element instanceof JavaTypeBuilder) {
+                JavaTypeBuilder type = (JavaTypeBuilder) element;
+                if (VALID_NAME.matcher(type.getPackageName() + "." + type.getClassName()).matches()) {
+                    valid.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static class ParallelNameValidator extends NameValidator implements ParallelVisitor<Object> {
+    }
+}
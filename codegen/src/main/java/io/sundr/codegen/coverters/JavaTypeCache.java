@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen.coverters;
+
+import io.sundr.codegen.model.JavaType;
+
+import javax.lang.model.util.Elements;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Interns {@link JavaType} instances by their full generic signature (e.g. java.util.List<java.lang.String>).
+ * A cache is shared by everything that resolves types against the same {@link Elements} and is scoped to a single
+ * processing round, since types generated in one round only become resolvable in the next one.
+ */
+public class JavaTypeCache {
+
+    private static final Map<Elements, JavaTypeCache> CACHES = new WeakHashMap<Elements, JavaTypeCache>();
+
+    private final ConcurrentMap<String, JavaType> types = new ConcurrentHashMap<String, JavaType>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private Object round;
+    private volatile long generation;
+
+    /**
+     * Returns the cache that is shared by all functions that resolve types using the specified {@link Elements}.
+     * @param elements  The elements.
+     * @return          The shared cache.
+     */
+    public static synchronized JavaTypeCache forElements(Elements elements) {
+        JavaTypeCache cache = CACHES.get(elements);
+        if (cache == null) {
+            cache = new JavaTypeCache();
+            CACHES.put(elements, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Marks the beginning of a processing round. Cached types are discarded when the round changes.
+     * @param round The object that identifies the round (usually the {@link javax.annotation.processing.RoundEnvironment}).
+     */
+    public synchronized void enterRound(Object round) {
+        if (this.round != round) {
+            this.round = round;
+            clear();
+        }
+    }
+
+    public JavaType get(String signature) {
+        JavaType type = types.get(signature);
+        if (type != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return type;
+    }
+
+    public void put(String signature, JavaType type) {
+        if (type != null) {
+            types.put(signature, type);
+        }
+    }
+
+    public void clear() {
+        types.clear();
+        generation++;
+    }
+
+    /**
+     * Returns a number that changes every time the cache is cleared.
+     * Caches that are layered on top of this one can use it to find out when they need to be discarded.
+     * @return  The generation.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int size() {
+        return types.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "type cache hits: " + getHits() + ", misses: " + getMisses() + ", size: " + size();
+    }
+}
@@ -41,17 +41,32 @@ import static io.sundr.codegen.utils.ModelUtils.splitTypes;
 public class JavaTypeFunction implements Function<String, JavaType> {
 
     private final Elements elements;
+    private final JavaTypeCache cache;
 
     public JavaTypeFunction(Elements elements) {
+        this(elements, JavaTypeCache.forElements(elements));
+    }
+
+    public JavaTypeFunction(Elements elements, JavaTypeCache cache) {
         this.elements = elements;
+        this.cache = cache;
     }
 
     @Override
     public JavaType apply(String fullName) {
-        return apply(fullName, new LinkedHashSet<String>());
+        JavaType type = cache.get(fullName);
+        if (type == null) {
+            type = apply(fullName, new LinkedHashSet<String>());
+            cache.put(fullName, type);
+        }
+        return type;
     }
 
 
+    public JavaTypeCache getCache() {
+        return cache;
+    }
+
     public JavaType apply(String fullName,  Set<String> visited) {
         boolean isArray = false;
         String packageName = null;
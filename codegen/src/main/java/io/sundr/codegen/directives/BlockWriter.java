@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen.directives;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A {@link Writer} that streams block content to the target writer, writing an opening sequence just before the first
+ * non empty write. This allows directives to render their blocks in a single pass, while still being able to tell if
+ * anything was rendered.
+ */
+class BlockWriter extends Writer {
+
+    private final Writer delegate;
+    private final String opening;
+    private boolean open;
+
+    BlockWriter(Writer delegate, String opening) {
+        this.delegate = delegate;
+        this.opening = opening;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        if (len > 0) {
+            open();
+            delegate.write(cbuf, off, len);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        if (len > 0) {
+            open();
+            delegate.write(str, off, len);
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        open();
+        delegate.write(c);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        //The target writer is owned by the caller.
+    }
+
+    /**
+     * @return true if anything has been written to this writer.
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    private void open() throws IOException {
+        if (!open) {
+            open = true;
+            delegate.write(opening);
+        }
+    }
+}
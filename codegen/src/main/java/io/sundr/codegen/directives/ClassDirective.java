@@ -14,28 +14,23 @@
  *    limitations under the License.
  */
 
+
 package io.sundr.codegen.directives;
 
-import io.sundr.Function;
 import io.sundr.codegen.model.JavaClazz;
-import io.sundr.codegen.model.JavaKind;
-import io.sundr.codegen.model.JavaType;
 import org.apache.velocity.context.InternalContextAdapter;
 import org.apache.velocity.runtime.directive.Directive;
 import org.apache.velocity.runtime.parser.node.ASTBlock;
 import org.apache.velocity.runtime.parser.node.Node;
 
 import java.io.IOException;
-import java.io.StringWriter;
 import java.io.Writer;
-import java.util.Collections;
 
-import static io.sundr.codegen.utils.StringUtils.join;
+import static io.sundr.codegen.utils.DeclarationUtils.writeClassFooter;
+import static io.sundr.codegen.utils.DeclarationUtils.writeClassHeader;
 
 public class ClassDirective extends Directive {
 
-    private static final JavaType OBJECT_TYPE = new JavaType(JavaKind.CLASS, "java.lang", "Object", false, false, true, null, null, null, new JavaType[0], Collections.<String, Object>emptyMap());
-
     @Override
     public String getName() {
         return "class";
@@ -48,7 +43,6 @@ public class ClassDirective extends Directive {
 
     @Override
     public boolean render(InternalContextAdapter context, Writer writer, Node node) throws IOException {
-        String block = "";
         JavaClazz clazz = null;
         for (int i = 0; i < node.jjtGetNumChildren(); i++) {
             if (node.jjtGetChild(i) != null) {
@@ -56,97 +50,24 @@ public class ClassDirective extends Directive {
                     //reading and casting inline parameters
                     if (i == 0) {
                         clazz = (JavaClazz) node.jjtGetChild(i).value(context);
+                        if (clazz != null) {
+                            writeClassHeader(writer, clazz);
+                        }
                     } else {
                         break;
                     }
                 } else {
-                    //reading block content and rendering it
-                    StringWriter blockContent = new StringWriter();
-                    node.jjtGetChild(i).render(context, blockContent);
-
-                    block = blockContent.toString();
+                    //streaming block content directly to the writer
+                    if (clazz != null) {
+                        node.jjtGetChild(i).render(context, writer);
+                    }
                     break;
                 }
             }
         }
-        writeClazz(writer, clazz, block);
-        return true;
-    }
-
-    private void writeClazz(Writer writer, JavaClazz clazz, String block) throws IOException {
-        JavaTypeToString toString = new JavaTypeToString(getEnclosingType(clazz));
-
         if (clazz != null) {
-            JavaType type = clazz.getType();
-            JavaKind kind = type.getKind() != null ? type.getKind() : JavaKind.CLASS;
-
-            writer.append("public ").append(kind.name().toLowerCase()).append(" ");
-            writer.append(toString.apply(type));
-
-            writeExtends(writer, type, toString);
-            writeImplements(writer, type, toString);
-
-            writer.append("{\n");
-            writer.append(block).append("\n}\n");
-        }
-    }
-
-    private void writeExtends(Writer writer, JavaType type, Function<JavaType, String> toString) throws IOException {
-        if (type.getKind() != JavaKind.INTERFACE) {
-            if (type.getSuperClass() != null && !OBJECT_TYPE.equals(type.getSuperClass())) {
-                writer.append(" extends ").append(toString.apply(type.getSuperClass()));
-            }
-        } else {
-            if (type.getInterfaces().size() > 0) {
-                writer.append(" extends ").append(join(type.getInterfaces(), toString, ", "));
-            }
-        }
-    }
-
-    private void writeImplements(Writer writer, JavaType type, Function<JavaType, String> toString) throws IOException {
-        if (type.getKind() != JavaKind.INTERFACE) {
-            if (type.getInterfaces().size() > 0) {
-                writer.append(" implements ").append(join(type.getInterfaces(), toString, ", "));
-            }
-        }
-    }
-
-    private static JavaType getEnclosingType(JavaClazz clazz) {
-        Object obj = clazz.getAttributes().get("MEMBER_OF");
-        if (obj instanceof JavaType) {
-            return (JavaType) obj;
-        } else {
-            return clazz.getType();
-        }
-    }
-
-
-    //Enum Singleton
-    private class JavaTypeToString implements Function<JavaType, String> {
-
-        private final JavaType enclosingType;
-
-        JavaTypeToString(JavaType enclosingType) {
-            this.enclosingType = enclosingType;
-        }
-
-        @Override
-        public String apply(JavaType item) {
-            StringBuilder sb = new StringBuilder();
-            if (item.getClassName().equals(enclosingType.getClassName())
-                    && !item.getFullyQualifiedName().equals(enclosingType.getFullyQualifiedName())) {
-                sb.append(item.getFullyQualifiedName());
-            } else sb.append(item.getClassName());
-            if (item.isArray()) {
-                sb.append("[]");
-            }
-            if (item.getKind() == JavaKind.GENERIC && item.getSuperClass() != null) {
-                sb.append(" extends " + apply(item.getSuperClass()));
-            }
-            if (item.getGenericTypes() != null && item.getGenericTypes().length > 0) {
-                sb.append("<").append(join(item.getGenericTypes(), this, ",")).append(">");
-            }
-            return sb.toString();
+            writeClassFooter(writer);
         }
+        return true;
     }
 }
@@ -14,20 +14,18 @@
  *    limitations under the License.
  */
 
+
 package io.sundr.codegen.directives;
 
-import io.sundr.Function;
 import io.sundr.codegen.model.JavaProperty;
-import io.sundr.codegen.model.JavaType;
 import org.apache.velocity.context.InternalContextAdapter;
 import org.apache.velocity.runtime.directive.Directive;
 import org.apache.velocity.runtime.parser.node.Node;
 
-import javax.lang.model.element.Modifier;
 import java.io.IOException;
 import java.io.Writer;
 
-import static io.sundr.codegen.utils.StringUtils.join;
+import static io.sundr.codegen.utils.DeclarationUtils.writeField;
 
 public class FieldDirective extends Directive {
 
@@ -43,56 +41,12 @@ public class FieldDirective extends Directive {
 
     @Override
     public boolean render(InternalContextAdapter context, Writer writer, Node node) throws IOException {
-        String block = "";
         JavaProperty field = null;
         //reading params
         if (node.jjtGetChild(0) != null) {
             field = (JavaProperty) node.jjtGetChild(0).value(context);
         }
-        writeField(writer, field, block);
+        writeField(writer, field);
         return true;
     }
-
-    private void writeField(Writer writer, JavaProperty field, String block) throws IOException {
-        if (field != null) {
-            writer.append(JavaPropertyToString.INSTANCE.apply(field));
-            if (field.getType().getDefaultImplementation() != null) {
-                JavaType defaultImpl = field.getType().getDefaultImplementation();
-                writer.append(" = new ").append(JavaTypeToString.INSTANCE.apply(defaultImpl)).append("()");
-            }
-        }
-        writer.append(";");
-    }
-
-    //Enum Singleton
-    private enum ModifierToString implements Function<Modifier, String> {
-        INSTANCE;
-
-        public String apply(Modifier modifier) {
-            return modifier.name().toLowerCase();
-        }
-    }
-
-    //Enum Singleton
-    private enum JavaTypeToString implements Function<JavaType, String> {
-        INSTANCE;
-
-        @Override
-        public String apply(JavaType item) {
-            return item.getSimpleName();
-        }
-    }
-
-    //Enum Singleton
-    private enum JavaPropertyToString implements Function<JavaProperty, String> {
-        INSTANCE;
-
-        @Override
-        public String apply(JavaProperty item) {
-            StringBuilder sb = new StringBuilder();
-            sb.append(join(item.getModifiers(), ModifierToString.INSTANCE, " ")).append(" ");
-            sb.append(item.getType().getSimpleName()).append(" ").append(item.getName());
-            return sb.toString();
-        }
-    }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen.generator;
+
+import java.io.IOException;
+
+/**
+ * Writes the source of a model directly to an {@link Appendable}, without using a template.
+ * Emitters are an alternative to velocity templates and are expected to produce equivalent sources.
+ * Implementations must be stateless, as they are shared among threads.
+ * @param <M>   The type of the model.
+ */
+public interface CodeEmitter<M> {
+
+    /**
+     * Writes the source of the specified model.
+     * @param model     The model.
+     * @param out       Where to write the source.
+     * @throws IOException
+     */
+    void emit(M model, Appendable out) throws IOException;
+}
@@ -16,15 +16,9 @@
 
 package io.sundr.codegen.generator;
 
-import io.sundr.codegen.directives.ClassDirective;
-import io.sundr.codegen.directives.FieldDirective;
-import io.sundr.codegen.directives.MethodDirective;
 import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.VelocityEngine;
-import org.apache.velocity.runtime.RuntimeConstants;
 import org.apache.velocity.runtime.directive.Directive;
-import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
 
 import java.io.IOException;
 import java.io.Writer;
@@ -38,33 +32,31 @@ public class CodeGenerator<M> {
     private final String templateResource;
     private final Template template;
     private final Set<Class<? extends Directive>> directives;
+    private final GeneratorEngine engine;
+    private final CodeEmitter<M> emitter;
 
     public CodeGenerator(M model, Writer writer, String templateResource, Set<Class<? extends Directive>> directives) {
+        this(GeneratorEngine.forDirectives(directives), model, writer, templateResource);
+    }
+
+    public CodeGenerator(GeneratorEngine engine, M model, Writer writer, String templateResource) {
+        this(engine, model, writer, templateResource, null);
+    }
+
+    /**
+     * Creates a generator, that uses the specified emitter instead of the template, when the emitter is not null.
+     */
+    public CodeGenerator(GeneratorEngine engine, M model, Writer writer, String templateResource, CodeEmitter<M> emitter) {
+        this.engine = engine;
+        this.emitter = emitter;
         this.model = model;
         this.writer = writer;
         this.templateResource = templateResource;
         this.context = new VelocityContext();
-        this.directives = directives;
-        
-        VelocityEngine engine = new VelocityEngine();
-        engine.setProperty(RuntimeConstants.RESOURCE_LOADER, "classpath");
-        engine.setProperty("classpath.resource.loader.class", ClasspathResourceLoader.class.getName());
-
-        engine.init();
-        
-        //Load standard directives
-        engine.loadDirective(ClassDirective.class.getCanonicalName());
-        engine.loadDirective(MethodDirective.class.getCanonicalName());
-        engine.loadDirective(FieldDirective.class.getCanonicalName());
-
-        for (Class<? extends Directive> directive :directives){
-            engine.loadDirective(directive.getCanonicalName());
-        }
-
-        this.template = engine.getTemplate(templateResource);
+        this.directives = engine.getDirectives();
+        this.template = emitter == null ? engine.getTemplate(templateResource) : null;
         this.context.put("model", model);
     }
-    
 
     public Writer getWriter() {
         return writer;
@@ -82,7 +74,19 @@ public class CodeGenerator<M> {
         return directives;
     }
 
+    public GeneratorEngine getEngine() {
+        return engine;
+    }
+
+    public CodeEmitter<M> getEmitter() {
+        return emitter;
+    }
+
     public void generate() throws IOException {
-        GeneratorUtils.generate(context, writer, template);
+        if (emitter != null) {
+            engine.emit(emitter, model, writer);
+        } else {
+            engine.render(context, writer, template);
+        }
     }
 }
@@ -28,9 +28,12 @@ public class CodeGeneratorBuilder<M> extends CodeGeneratorFluent<M, CodeGenerato
         withWriter(instance.getWriter());
         withTemplateResource(instance.getTemplateResource());
         withDirectives(instance.getDirectives());
+        withGeneratorEngine(instance.getEngine());
+        withEmitter(instance.getEmitter());
     }
     
     public CodeGenerator build() {
-       return new CodeGenerator( getModel(), getWriter(), getTemplateResource(), getDirectives() );
+       GeneratorEngine engine = getGeneratorEngine() != null ? getGeneratorEngine() : GeneratorEngine.forDirectives(getDirectives());
+       return new CodeGenerator(engine, getModel(), getWriter(), getTemplateResource(), getEmitter());
     }
 }
\ No newline at end of file
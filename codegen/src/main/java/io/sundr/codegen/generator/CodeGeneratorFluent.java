@@ -38,6 +38,28 @@ public class CodeGeneratorFluent<M, T extends CodeGeneratorFluent<M, T>> impleme
         return this.engine;
     }
 
+    private GeneratorEngine generatorEngine;
+
+    public T withGeneratorEngine(GeneratorEngine generatorEngine) {
+        this.generatorEngine = generatorEngine;
+        return (T) this;
+    }
+
+    public GeneratorEngine getGeneratorEngine() {
+        return this.generatorEngine;
+    }
+
+    private CodeEmitter<M> emitter;
+
+    public T withEmitter(CodeEmitter<M> emitter) {
+        this.emitter = emitter;
+        return (T) this;
+    }
+
+    public CodeEmitter<M> getEmitter() {
+        return this.emitter;
+    }
+
     private VelocityContext context;
 
     public T withContext(VelocityContext context) {
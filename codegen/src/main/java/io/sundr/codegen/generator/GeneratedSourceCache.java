@@ -0,0 +1,375 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen.generator;
+
+import io.sundr.codegen.model.AttributeSupport;
+import io.sundr.codegen.model.JavaClazz;
+import io.sundr.codegen.model.JavaMethod;
+import io.sundr.codegen.model.JavaProperty;
+import io.sundr.codegen.model.JavaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An on-disk cache of rendered sources. Each source is stored under its name and a key, which is a hash of the template
+ * (and the generator that renders it) and of the complete {@link JavaClazz} model. As long as the key is unchanged
+ * the previously rendered source is reused and the template is not rendered again. Sources are stored per key, so that
+ * different models rendered under the same name don't evict each other.
+ */
+public class GeneratedSourceCache {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String SOURCE_SUFFIX = ".java";
+    private static final String GENERATOR_VERSION = generatorVersion();
+
+    private final File directory;
+    private final ConcurrentMap<String, String> templateVersions = new ConcurrentHashMap<String, String>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public GeneratedSourceCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the previously rendered source of the specified type, if it was rendered with the specified key.
+     * @param name  The fully qualified name of the generated type.
+     * @param key   The key, as returned by {@link #keyOf(JavaClazz, String)}.
+     * @return      The source or null if there is no valid cached source.
+     */
+    public String get(String name, String key) {
+        File sourceFile = fileOf(name, key);
+        try {
+            if (sourceFile.exists()) {
+                hits.incrementAndGet();
+                return read(sourceFile);
+            }
+        } catch (IOException e) {
+            //Treat it as a miss.
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores the rendered source of the specified type.
+     * @param name      The fully qualified name of the generated type.
+     * @param key       The key, as returned by {@link #keyOf(JavaClazz, String)}.
+     * @param source    The rendered source.
+     */
+    public void put(String name, String key, String source) {
+        try {
+            if (!directory.exists() && !directory.mkdirs() && !directory.exists()) {
+                return;
+            }
+            write(fileOf(name, key), source);
+        } catch (IOException e) {
+            //The cache is best effort.
+        }
+    }
+
+    /**
+     * Calculates the key of a model rendered with the specified template.
+     * @param model         The model.
+     * @param resourceName  The template.
+     * @return              A hash of the generator, the template and the model, or null if the model can't be cached.
+     * @throws IOException  If the template can't be read.
+     */
+    public String keyOf(JavaClazz model, String resourceName) throws IOException {
+        return keyOf(model, resourceName, null);
+    }
+
+    /**
+     * Calculates the key of a model rendered with the specified template or emitter.
+     * @param model         The model.
+     * @param resourceName  The template.
+     * @param emitter       The emitter that replaces the template or null.
+     * @return              A hash of the generator, the template, the emitter and the model, or null if the model holds
+     *                      attributes of types that can't be hashed reliably.
+     * @throws IOException  If the template can't be read.
+     */
+    public String keyOf(JavaClazz model, String resourceName, CodeEmitter<JavaClazz> emitter) throws IOException {
+        Digest digest = new Digest();
+        digest.update(GENERATOR_VERSION);
+        digest.update(resourceName);
+        digest.update(templateVersionOf(resourceName));
+        if (emitter != null) {
+            digest.update(emitter.getClass().getName() + "#" + emitter);
+        }
+        digest.update(model);
+        return digest.isComplete() ? digest.toString() : null;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "source cache hits: " + getHits() + ", misses: " + getMisses();
+    }
+
+    private File fileOf(String name, String key) {
+        return new File(directory, name + "." + key + SOURCE_SUFFIX);
+    }
+
+    private String templateVersionOf(String resourceName) throws IOException {
+        String version = templateVersions.get(resourceName);
+        if (version == null) {
+            InputStream is = GeneratedSourceCache.class.getClassLoader().getResourceAsStream(resourceName);
+            if (is == null) {
+                throw new IOException("Template: " + resourceName + " not found.");
+            }
+            try {
+                Digest digest = new Digest();
+                digest.update(new String(readFully(is), UTF_8));
+                version = digest.toString();
+            } finally {
+                is.close();
+            }
+            templateVersions.put(resourceName, version);
+        }
+        return version;
+    }
+
+    private static String generatorVersion() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(GeneratedSourceCache.class.getPackage().getImplementationVersion());
+        CodeSource codeSource = GeneratedSourceCache.class.getProtectionDomain().getCodeSource();
+        URL location = codeSource != null ? codeSource.getLocation() : null;
+        if (location != null) {
+            sb.append(location);
+            if ("file".equals(location.getProtocol())) {
+                sb.append(new File(location.getPath()).lastModified());
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String read(File file) throws IOException {
+        InputStream is = new FileInputStream(file);
+        try {
+            return new String(readFully(is), UTF_8);
+        } finally {
+            is.close();
+        }
+    }
+
+    private static byte[] readFully(InputStream is) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static void write(File file, String content) throws IOException {
+        File tmp = new File(file.getPath() + "." + Thread.currentThread().getId() + ".tmp");
+        OutputStream os = new FileOutputStream(tmp);
+        try {
+            os.write(content.getBytes(UTF_8));
+        } finally {
+            os.close();
+        }
+        if (!tmp.renameTo(file)) {
+            file.delete();
+            if (!tmp.renameTo(file)) {
+                tmp.delete();
+                throw new IOException("Failed to write: " + file);
+            }
+        }
+    }
+
+    /**
+     * Feeds the complete model, in a stable order, into a {@link MessageDigest}.
+     */
+    private static class Digest {
+
+        private final MessageDigest digest;
+        private boolean complete = true;
+
+        private Digest() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-1");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void update(String value) {
+            if (value == null) {
+                digest.update((byte) 0);
+            } else {
+                digest.update((byte) 1);
+                digest.update(value.getBytes(UTF_8));
+                //Terminate each value, so that adjacent values can't be confused.
+                digest.update((byte) 0);
+            }
+        }
+
+        void update(JavaClazz clazz) {
+            update("clazz");
+            update(clazz.getType());
+            updateAll(clazz.getImports());
+            updateAll(clazz.getConstructors());
+            updateAll(clazz.getFields());
+            updateAll(clazz.getMethods());
+            updateAll(clazz.getNested());
+            updateAttributes(clazz);
+        }
+
+        void update(JavaType type) {
+            if (type == null) {
+                update((String) null);
+                return;
+            }
+            update("type");
+            update(String.valueOf(type.getKind()));
+            update(type.getPackageName());
+            update(type.getClassName());
+            update(type.isArray() + ":" + type.isCollection() + ":" + type.isConcrete());
+            update(type.getDefaultImplementation());
+            update(type.getSuperClass());
+            updateAll(type.getInterfaces());
+            if (type.getGenericTypes() != null) {
+                for (JavaType genericType : type.getGenericTypes()) {
+                    update(genericType);
+                }
+            }
+            updateAttributes(type);
+        }
+
+        void update(JavaMethod method) {
+            update("method");
+            updateAll(method.getModifiers());
+            updateAll(method.getTypeParameters());
+            update(method.getReturnType());
+            update(method.getName());
+            for (JavaProperty argument : method.getArguments()) {
+                update(argument);
+            }
+            updateAll(method.getExceptions());
+            updateAttributes(method);
+        }
+
+        void update(JavaProperty property) {
+            update("property");
+            updateAll(property.getModifiers());
+            update(property.getType());
+            update(property.getName());
+            update(String.valueOf(property.isArray()));
+            updateAttributes(property);
+        }
+
+        void updateAttributes(AttributeSupport item) {
+            //Attributes are not ordered, so sort them by key.
+            for (Map.Entry<String, Object> entry : new TreeMap<String, Object>(item.getAttributes()).entrySet()) {
+                update(entry.getKey());
+                updateObject(entry.getValue());
+            }
+        }
+
+        void updateAll(Collection<?> items) {
+            if (items == null) {
+                update((String) null);
+                return;
+            }
+            update("[" + items.size());
+            for (Object item : items) {
+                updateObject(item);
+            }
+        }
+
+        void updateObject(Object value) {
+            if (value instanceof JavaClazz) {
+                update((JavaClazz) value);
+            } else if (value instanceof JavaType) {
+                update((JavaType) value);
+            } else if (value instanceof JavaMethod) {
+                update((JavaMethod) value);
+            } else if (value instanceof JavaProperty) {
+                update((JavaProperty) value);
+            } else if (value instanceof Collection) {
+                updateAll((Collection<?>) value);
+            } else if (value instanceof Map) {
+                update("{" + ((Map<?, ?>) value).size());
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    updateObject(entry.getKey());
+                    updateObject(entry.getValue());
+                }
+            } else if (value instanceof Enum) {
+                update(((Enum<?>) value).getDeclaringClass().getName() + ":" + ((Enum<?>) value).name());
+            } else if (value instanceof String || value instanceof Boolean || value instanceof Number || value instanceof Character) {
+                update(value.getClass().getName() + ":" + value);
+            } else if (value == null) {
+                update((String) null);
+            } else {
+                //There is no telling if toString() covers all of the state, so don't cache the model at all.
+                complete = false;
+            }
+        }
+
+        /**
+         * @return  False, if a value that can't be hashed reliably was found.
+         */
+        boolean isComplete() {
+            return complete;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen.generator;
+
+import io.sundr.codegen.directives.ClassDirective;
+import io.sundr.codegen.directives.FieldDirective;
+import io.sundr.codegen.directives.MethodDirective;
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.directive.Directive;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A pre-warmed {@link VelocityEngine} along with a cache of the templates it has already parsed.
+ * Engines are shared per set of extra directives, so that templates are only parsed once per process.
+ * Parsed {@link Template} instances are thread-safe, so the engine may be used from multiple threads.
+ */
+public final class GeneratorEngine {
+
+    private static final ConcurrentMap<Set<Class<? extends Directive>>, GeneratorEngine> ENGINES = new ConcurrentHashMap<Set<Class<? extends Directive>>, GeneratorEngine>();
+
+    private final VelocityEngine engine;
+    private final Set<Class<? extends Directive>> directives;
+    private final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<String, Template>();
+    private final GeneratorStatistics statistics = new GeneratorStatistics();
+
+    /**
+     * Returns the shared engine that only knows about the standard directives.
+     * @return  The engine.
+     */
+    public static GeneratorEngine getDefault() {
+        return forDirectives(Collections.<Class<? extends Directive>>emptySet());
+    }
+
+    /**
+     * Returns the shared engine for the specified set of extra directives.
+     * @param directives    The directives to load on top of the standard ones.
+     * @return  The engine.
+     */
+    public static GeneratorEngine forDirectives(Set<Class<? extends Directive>> directives) {
+        Set<Class<? extends Directive>> key = directives != null
+                ? Collections.unmodifiableSet(new LinkedHashSet<Class<? extends Directive>>(directives))
+                : Collections.<Class<? extends Directive>>emptySet();
+
+        GeneratorEngine engine = ENGINES.get(key);
+        if (engine == null) {
+            GeneratorEngine created = new GeneratorEngine(key);
+            engine = ENGINES.putIfAbsent(key, created);
+            if (engine == null) {
+                engine = created;
+            }
+        }
+        return engine;
+    }
+
+    private GeneratorEngine(Set<Class<? extends Directive>> directives) {
+        this.directives = directives;
+        this.engine = new VelocityEngine();
+        engine.setProperty(RuntimeConstants.RESOURCE_LOADER, "classpath");
+        engine.setProperty("classpath.resource.loader.class", ClasspathResourceLoader.class.getName());
+
+        engine.init();
+
+        //Load standard directives
+        engine.loadDirective(ClassDirective.class.getCanonicalName());
+        engine.loadDirective(MethodDirective.class.getCanonicalName());
+        engine.loadDirective(FieldDirective.class.getCanonicalName());
+
+        for (Class<? extends Directive> directive : directives) {
+            engine.loadDirective(directive.getCanonicalName());
+        }
+    }
+
+    /**
+     * Returns the parsed template for the specified resource, parsing it on first use.
+     * @param templateResource  The classpath location of the template.
+     * @return  The template.
+     */
+    public Template getTemplate(String templateResource) {
+        Template template = templates.get(templateResource);
+        if (template != null) {
+            statistics.cacheHit();
+            return template;
+        }
+
+        long start = System.nanoTime();
+        Template parsed = engine.getTemplate(templateResource);
+        statistics.parsed(System.nanoTime() - start);
+
+        template = templates.putIfAbsent(templateResource, parsed);
+        return template != null ? template : parsed;
+    }
+
+    /**
+     * Renders the template using the specified context.
+     * @param context   The velocity context.
+     * @param writer    The writer to render to.
+     * @param template  The template.
+     * @throws IOException
+     */
+    public void render(VelocityContext context, Writer writer, Template template) throws IOException {
+        long start = System.nanoTime();
+        try {
+            GeneratorUtils.generate(context, writer, template);
+        } finally {
+            statistics.rendered(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Writes the model using the specified emitter, bypassing velocity.
+     * @param emitter   The emitter.
+     * @param model     The model.
+     * @param writer    The writer to write to.
+     * @throws IOException
+     */
+    public <M> void emit(CodeEmitter<M> emitter, M model, Writer writer) throws IOException {
+        long start = System.nanoTime();
+        try {
+            GeneratorUtils.emit(emitter, model, writer);
+        } finally {
+            statistics.rendered(System.nanoTime() - start);
+        }
+    }
+
+    public VelocityEngine getVelocityEngine() {
+        return engine;
+    }
+
+    public Set<Class<? extends Directive>> getDirectives() {
+        return directives;
+    }
+
+    public GeneratorStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen.generator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters that separate the time spent parsing templates from the time spent rendering them.
+ */
+public class GeneratorStatistics {
+
+    private final AtomicLong parsed = new AtomicLong();
+    private final AtomicLong parseNanos = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong rendered = new AtomicLong();
+    private final AtomicLong renderNanos = new AtomicLong();
+
+    void parsed(long nanos) {
+        parsed.incrementAndGet();
+        parseNanos.addAndGet(nanos);
+    }
+
+    void cacheHit() {
+        cacheHits.incrementAndGet();
+    }
+
+    void rendered(long nanos) {
+        rendered.incrementAndGet();
+        renderNanos.addAndGet(nanos);
+    }
+
+    public long getParsed() {
+        return parsed.get();
+    }
+
+    public long getParseNanos() {
+        return parseNanos.get();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getRendered() {
+        return rendered.get();
+    }
+
+    public long getRenderNanos() {
+        return renderNanos.get();
+    }
+
+    /**
+     * Returns a copy of the current counters and resets them.
+     * @return  The counters collected since the last drain.
+     */
+    public GeneratorStatistics drain() {
+        GeneratorStatistics snapshot = new GeneratorStatistics();
+        snapshot.parsed.set(parsed.getAndSet(0));
+        snapshot.parseNanos.set(parseNanos.getAndSet(0));
+        snapshot.cacheHits.set(cacheHits.getAndSet(0));
+        snapshot.rendered.set(rendered.getAndSet(0));
+        snapshot.renderNanos.set(renderNanos.getAndSet(0));
+        return snapshot;
+    }
+
+    @Override
+    public String toString() {
+        return "templates parsed: " + getParsed() + " (" + TimeUnit.NANOSECONDS.toMillis(getParseNanos()) + " ms)"
+                + ", template cache hits: " + getCacheHits()
+                + ", sources rendered: " + getRendered() + " (" + TimeUnit.NANOSECONDS.toMillis(getRenderNanos()) + " ms)";
+    }
+}
@@ -44,6 +44,15 @@ public final class GeneratorUtils {
         }
     }
 
+    static <M> void emit(CodeEmitter<M> emitter, M model, Writer writer) throws IOException {
+        BufferedWriter bufferedWriter = new BufferedWriter(writer);
+        try {
+            emitter.emit(model, bufferedWriter);
+        } finally {
+            bufferedWriter.close();
+        }
+    }
+
     static void generate(VelocityContext context, File dir, String fileName, Template template) throws IOException {
         FileWriter fw = null;
         try  {
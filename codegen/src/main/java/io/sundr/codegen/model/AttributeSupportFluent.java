@@ -45,5 +45,8 @@ public class AttributeSupportFluent<T extends AttributeSupportFluent<T>> extends
         return (T) this;
     }
 
-
+    @Override
+    protected boolean _canVisit(Class<?> type) {
+        return type.isInstance(this);
+    }
 }
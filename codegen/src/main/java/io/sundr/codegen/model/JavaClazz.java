@@ -19,9 +19,10 @@ package io.sundr.codegen.model;
 import io.sundr.codegen.Clazz;
 import io.sundr.codegen.functions.JavaClazzToReferences;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
 
 public class JavaClazz extends AttributeSupport implements Clazz<JavaType, JavaProperty> {
 
@@ -32,6 +33,9 @@ public class JavaClazz extends AttributeSupport implements Clazz<JavaType, JavaP
     private final Set<JavaType> imports;
     private final Set<JavaClazz> nested;
 
+    //Computed lazily, as the model is immutable once built.
+    private volatile Set<JavaType> resolvedImports;
+
     public JavaClazz(JavaType type, Set<JavaMethod> constructors, Set<JavaMethod> methods, Set<JavaProperty> fields, Set<JavaType> imports, Map<String, Object> attributes, Set<JavaClazz> nested) {
         super(attributes);
         this.type = type;
@@ -67,8 +71,17 @@ public class JavaClazz extends AttributeSupport implements Clazz<JavaType, JavaP
 
     @Override
     public Set<JavaType> getImports() {
-        Set<JavaType> result = new CopyOnWriteArraySet<JavaType>();
-        Set<JavaType> tmp = new CopyOnWriteArraySet<JavaType>();
+        Set<JavaType> result = resolvedImports;
+        if (result == null) {
+            result = Collections.unmodifiableSet(resolveImports());
+            resolvedImports = result;
+        }
+        return result;
+    }
+
+    private Set<JavaType> resolveImports() {
+        Set<JavaType> result = new LinkedHashSet<JavaType>();
+        Set<JavaType> tmp = new LinkedHashSet<JavaType>();
         tmp.addAll(this.imports);
         tmp.addAll(getReferencedTypes());
 
@@ -37,8 +37,9 @@ public class JavaClazzFluent<T extends JavaClazzFluent<T>> extends AttributeSupp
 
     public T withType(JavaType type) {
         if (type != null) {
+            _visitables.remove("type");
             this.type = new JavaTypeBuilder(type);
-            _visitables.add(this.type);
+            _visitables.listOf("type").add(this.type);
         }
         return (T) this;
     }
@@ -50,7 +51,7 @@ public class JavaClazzFluent<T extends JavaClazzFluent<T>> extends AttributeSupp
     public T addToMethods(JavaMethod ...items) {
         for (JavaMethod item : items) {
             JavaMethodBuilder builder = new JavaMethodBuilder(item);
-            _visitables.add(builder);
+            _visitables.listOf("methods").add(builder);
             this.methods.add(builder);
         }
         return (T) this;
@@ -61,6 +62,7 @@ public class JavaClazzFluent<T extends JavaClazzFluent<T>> extends AttributeSupp
     }
 
     public T withMethods(Set<JavaMethod> methods) {
+        _visitables.remove("methods");
         this.methods.clear();
         if (methods != null) {
             for (JavaMethod item : methods) {
@@ -77,7 +79,7 @@ public class JavaClazzFluent<T extends JavaClazzFluent<T>> extends AttributeSupp
     public T addToConstructors(JavaMethod item) {
         if (item != null) {
             JavaMethodBuilder builder = new JavaMethodBuilder(item);
-            _visitables.add(builder);
+            _visitables.listOf("constructors").add(builder);
             this.constructors.add(builder);
         }
         return (T) this;
@@ -88,6 +90,7 @@ public class JavaClazzFluent<T extends JavaClazzFluent<T>> extends AttributeSupp
     }
 
     public T withConstructors(Set<JavaMethod> constructors) {
+        _visitables.remove("constructors");
         this.constructors.clear();
         if (constructors != null) {
             for (JavaMethod item : constructors) {
@@ -104,7 +107,7 @@ public class JavaClazzFluent<T extends JavaClazzFluent<T>> extends AttributeSupp
     public T addToFields(JavaProperty item) {
         if (item != null) {
             JavaPropertyBuilder builder = new JavaPropertyBuilder(item);
-            _visitables.add(builder);
+            _visitables.listOf("fields").add(builder);
             this.fields.add(builder);
         }
         return (T) this;
@@ -115,6 +118,7 @@ public class JavaClazzFluent<T extends JavaClazzFluent<T>> extends AttributeSupp
     }
 
     public T withFields(Set<JavaProperty> fields) {
+        _visitables.remove("fields");
         this.fields.clear();
         if (fields != null) {
             for (JavaProperty item : fields) {
@@ -131,7 +135,7 @@ public class JavaClazzFluent<T extends JavaClazzFluent<T>> extends AttributeSupp
     public T addToImports(JavaType item) {
         if (item != null) {
             JavaTypeBuilder builder = new JavaTypeBuilder(item);
-            _visitables.add(builder);
+            _visitables.listOf("imports").add(builder);
             this.imports.add(builder);
         }
         return (T) this;
@@ -142,6 +146,7 @@ public class JavaClazzFluent<T extends JavaClazzFluent<T>> extends AttributeSupp
     }
 
     public T withImports(Set<JavaType> imports) {
+        _visitables.remove("imports");
         this.imports.clear();
         if (imports != null) {
             for (JavaType item : imports) {
@@ -158,7 +163,7 @@ public class JavaClazzFluent<T extends JavaClazzFluent<T>> extends AttributeSupp
     public T addToNested(JavaClazz item) {
         if (item != null) {
             JavaClazzBuilder builder = new JavaClazzBuilder(item);
-            _visitables.add(builder);
+            _visitables.listOf("nested").add(builder);
             this.nested.add(builder);
         }
         return (T) this;
@@ -169,6 +174,7 @@ public class JavaClazzFluent<T extends JavaClazzFluent<T>> extends AttributeSupp
     }
 
     public T withNested(Set<JavaClazz> nested) {
+        _visitables.remove("nested");
         this.nested.clear();
         if (nested != null) {
             for (JavaClazz item : nested) {
@@ -182,6 +188,15 @@ public class JavaClazzFluent<T extends JavaClazzFluent<T>> extends AttributeSupp
         return new NestedNested<T>();
     }
 
+    @Override
+    protected boolean _canVisit(Class<?> type) {
+        return type.isInstance(this)
+                || type.isAssignableFrom(JavaTypeBuilder.class)
+                || type.isAssignableFrom(JavaMethodBuilder.class)
+                || type.isAssignableFrom(JavaPropertyBuilder.class)
+                || type.isAssignableFrom(JavaClazzBuilder.class);
+    }
+
     public class TypeNested<N> extends JavaTypeFluent<TypeNested<N>> implements Nested<N> {
 
         private final JavaTypeBuilder builder = new JavaTypeBuilder(this);
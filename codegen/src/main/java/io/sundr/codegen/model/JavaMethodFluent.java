@@ -58,7 +58,7 @@ public class JavaMethodFluent<T extends JavaMethodFluent<T>> extends AttributeSu
     public T addToTypeParameters(JavaType item) {
         if (item != null) {
             JavaTypeBuilder builder = new JavaTypeBuilder(item);
-            _visitables.add(builder);
+            _visitables.listOf("typeParameters").add(builder);
             this.typeParameters.add(builder);
         }
         return (T) this;
@@ -69,6 +69,7 @@ public class JavaMethodFluent<T extends JavaMethodFluent<T>> extends AttributeSu
     }
 
     public T withTypeParameters(Set<JavaType> typeParameters) {
+        _visitables.remove("typeParameters");
         this.typeParameters.clear();
         if (typeParameters != null) {
             for (JavaType item : typeParameters) {
@@ -97,8 +98,9 @@ public class JavaMethodFluent<T extends JavaMethodFluent<T>> extends AttributeSu
 
     public T withReturnType(JavaType returnType) {
         if (returnType != null) {
+            _visitables.remove("returnType");
             this.returnType = new JavaTypeBuilder(returnType);
-            _visitables.add(this.returnType);
+            _visitables.listOf("returnType").add(this.returnType);
         }
         return (T) this;
     }
@@ -108,6 +110,7 @@ public class JavaMethodFluent<T extends JavaMethodFluent<T>> extends AttributeSu
     }
 
     public T withArguments(JavaProperty[] arguments) {
+        _visitables.remove("arguments");
         this.arguments.clear();
         if (arguments != null) {
             for (JavaProperty item : arguments) {
@@ -128,7 +131,7 @@ public class JavaMethodFluent<T extends JavaMethodFluent<T>> extends AttributeSu
     public T addToArguments(JavaProperty item) {
         if (item != null) {
             JavaPropertyBuilder builder = new JavaPropertyBuilder(item);
-            _visitables.add(builder);
+            _visitables.listOf("arguments").add(builder);
             this.arguments.add(builder);
         }
         return (T) this;
@@ -141,7 +144,7 @@ public class JavaMethodFluent<T extends JavaMethodFluent<T>> extends AttributeSu
     public T addToExceptions(JavaType item) {
         if (item != null) {
             JavaTypeBuilder builder = new JavaTypeBuilder(item);
-            _visitables.add(builder);
+            _visitables.listOf("exceptions").add(builder);
             this.exceptions.add(builder);
         }
         return (T) this;
@@ -152,6 +155,7 @@ public class JavaMethodFluent<T extends JavaMethodFluent<T>> extends AttributeSu
     }
 
     public T withExceptions(Set<JavaType> exceptions) {
+        _visitables.remove("exceptions");
         this.exceptions.clear();
         if (exceptions != null) {
             for (JavaType item : exceptions) {
@@ -165,6 +169,13 @@ public class JavaMethodFluent<T extends JavaMethodFluent<T>> extends AttributeSu
         return new ExceptionsNested<T>();
     }
 
+    @Override
+    protected boolean _canVisit(Class<?> type) {
+        return type.isInstance(this)
+                || type.isAssignableFrom(JavaTypeBuilder.class)
+                || type.isAssignableFrom(JavaPropertyBuilder.class);
+    }
+
     public class TypeParametersNested<N> extends JavaTypeFluent<TypeParametersNested<N>> implements Nested<N> {
 
         private final JavaTypeBuilder builder = new JavaTypeBuilder(this);
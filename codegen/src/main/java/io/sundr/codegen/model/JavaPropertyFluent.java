@@ -57,8 +57,9 @@ public class JavaPropertyFluent<T extends JavaPropertyFluent<T>> extends Attribu
 
     public T withType(JavaType type) {
         if (type != null) {
+            _visitables.remove("type");
             this.type = new JavaTypeBuilder(type);
-            _visitables.add(this.type);
+            _visitables.listOf("type").add(this.type);
         }
         return (T) this;
     }
@@ -85,6 +86,12 @@ public class JavaPropertyFluent<T extends JavaPropertyFluent<T>> extends Attribu
         return (T) this;
     }
 
+    @Override
+    protected boolean _canVisit(Class<?> type) {
+        return type.isInstance(this)
+                || type.isAssignableFrom(JavaTypeBuilder.class);
+    }
+
     public class TypeNested<N> extends JavaTypeFluent<TypeNested<N>> implements Nested<N> {
 
         private final JavaTypeBuilder builder = new JavaTypeBuilder(this);
@@ -97,8 +97,9 @@ public class JavaTypeFluent<T extends JavaTypeFluent<T>> extends AttributeSuppor
 
     public T withDefaultImplementation(JavaType defaultImplementation) {
         if (defaultImplementation != null) {
+            _visitables.remove("defaultImplementation");
             this.defaultImplementation = new JavaTypeBuilder(defaultImplementation);
-            _visitables.add(this.defaultImplementation);
+            _visitables.listOf("defaultImplementation").add(this.defaultImplementation);
         }
         return (T) this;
     }
@@ -113,8 +114,9 @@ public class JavaTypeFluent<T extends JavaTypeFluent<T>> extends AttributeSuppor
 
     public T withSuperClass(JavaType superClass) {
         if (superClass != null) {
+            _visitables.remove("superClass");
             this.superClass = new JavaTypeBuilder(superClass);
-            _visitables.add(this.superClass);
+            _visitables.listOf("superClass").add(this.superClass);
         }
         return (T) this;
     }
@@ -126,7 +128,7 @@ public class JavaTypeFluent<T extends JavaTypeFluent<T>> extends AttributeSuppor
     public T addToInterfaces(JavaType item) {
         if (item != null) {
             JavaTypeBuilder builder = new JavaTypeBuilder(item);
-            _visitables.add(builder);
+            _visitables.listOf("interfaces").add(builder);
             this.interfaces.add(builder);
         }
         return (T) this;
@@ -137,6 +139,7 @@ public class JavaTypeFluent<T extends JavaTypeFluent<T>> extends AttributeSuppor
     }
 
     public T withInterfaces(Set<JavaType> interfaces) {
+        _visitables.remove("interfaces");
         this.interfaces.clear();
         if (interfaces != null) {
             for (JavaType item : interfaces) {
@@ -151,6 +154,7 @@ public class JavaTypeFluent<T extends JavaTypeFluent<T>> extends AttributeSuppor
     }
 
     public T withGenericTypes(JavaType[] genericTypes) {
+        _visitables.remove("genericTypes");
         this.genericTypes.clear();
         if (genericTypes != null) {
             for (JavaType item : genericTypes) {
@@ -171,7 +175,7 @@ public class JavaTypeFluent<T extends JavaTypeFluent<T>> extends AttributeSuppor
     public T addToGenericTypes(JavaType item) {
         if (item != null) {
             JavaTypeBuilder builder = new JavaTypeBuilder(item);
-            _visitables.add(builder);
+            _visitables.listOf("genericTypes").add(builder);
             this.genericTypes.add(builder);
         }
         return (T) this;
@@ -181,6 +185,12 @@ public class JavaTypeFluent<T extends JavaTypeFluent<T>> extends AttributeSuppor
         return new GenericTypesNested<T>();
     }
 
+    @Override
+    protected boolean _canVisit(Class<?> type) {
+        return type.isInstance(this)
+                || type.isAssignableFrom(JavaTypeBuilder.class);
+    }
+
     public class DefaultImplementationNested<N> extends JavaTypeFluent<DefaultImplementationNested<N>> implements Nested<N> {
 
         private final JavaTypeBuilder builder = new JavaTypeBuilder(this);
@@ -16,28 +16,184 @@
 
 package io.sundr.codegen.processor;
 
+import io.sundr.codegen.coverters.JavaTypeCache;
+import io.sundr.codegen.generator.CodeEmitter;
 import io.sundr.codegen.generator.CodeGeneratorBuilder;
+import io.sundr.codegen.generator.GeneratedSourceCache;
+import io.sundr.codegen.generator.GeneratorEngine;
+import io.sundr.codegen.generator.GeneratorStatistics;
 import io.sundr.codegen.model.JavaClazz;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.PackageElement;
+import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
+import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public abstract class JavaGeneratingProcessor extends AbstractProcessor {
 
     /**
-     * Generates a source file from the specified {@link io.sundr.codegen.model.JavaClazz}.*
+     * Processor option that enables reporting of template parsing and rendering times.
+     */
+    public static final String STATISTICS_OPTION = "sundrio.statistics";
+
+    /**
+     * Processor option that sets the number of threads used to render sources. Rendering is sequential by default.
+     */
+    public static final String PARALLELISM_OPTION = "sundrio.parallelism";
+
+    /**
+     * Processor option that points to a directory, where rendered sources are cached between builds.
+     */
+    public static final String CACHE_DIRECTORY_OPTION = "sundrio.cache.directory";
+
+    /**
+     * Processor option that selects how sources are generated: using velocity templates (the default) or emitters.
+     * Templates that have no registered emitter are always rendered with velocity.
+     */
+    public static final String GENERATOR_OPTION = "sundrio.generator";
+
+    public static final String VELOCITY_GENERATOR = "velocity";
+    public static final String EMITTER_GENERATOR = "emitter";
+
+    private GeneratorEngine engine;
+    private boolean emittersEnabled;
+    private final Map<String, CodeEmitter<JavaClazz>> emitters = new HashMap<String, CodeEmitter<JavaClazz>>();
+    private GeneratedSourceCache sourceCache;
+    private int parallelism = 1;
+    private final List<PendingSource> pendingSources = new ArrayList<PendingSource>();
+    //The Filer rejects a second source with the same name, so duplicates are skipped before they are rendered.
+    private final Set<String> generatedSources = new HashSet<String>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.engine = GeneratorEngine.getDefault();
+
+        String value = processingEnv.getOptions().get(PARALLELISM_OPTION);
+        if (value != null) {
+            try {
+                this.parallelism = Math.max(1, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Ignoring invalid value: [" + value + "] of option: [" + PARALLELISM_OPTION + "].");
+            }
+        }
+
+        String generator = processingEnv.getOptions().get(GENERATOR_OPTION);
+        if (EMITTER_GENERATOR.equals(generator)) {
+            this.emittersEnabled = true;
+        } else if (generator != null && !VELOCITY_GENERATOR.equals(generator)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Ignoring invalid value: [" + generator + "] of option: [" + GENERATOR_OPTION + "].");
+        }
+
+        String cacheDirectory = processingEnv.getOptions().get(CACHE_DIRECTORY_OPTION);
+        if (cacheDirectory != null && !cacheDirectory.trim().isEmpty()) {
+            this.sourceCache = new GeneratedSourceCache(new File(cacheDirectory.trim()));
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> options = new LinkedHashSet<String>(super.getSupportedOptions());
+        options.add(STATISTICS_OPTION);
+        options.add(PARALLELISM_OPTION);
+        options.add(CACHE_DIRECTORY_OPTION);
+        options.add(GENERATOR_OPTION);
+        return options;
+    }
+
+    /**
+     * Checks if the specified boolean processor option has been set to true.
+     * @param option    The name of the option.
+     * @return          True if the option is enabled.
+     */
+    protected boolean isOptionEnabled(String option) {
+        return Boolean.parseBoolean(processingEnv.getOptions().get(option));
+    }
+
+    /**
+     * Prints the statistics collected by the generator engine, if enabled.
+     * Counters are reset, so that processors sharing the engine don't report the same numbers twice.
+     */
+    protected void reportStatistics() {
+        if (!isOptionEnabled(STATISTICS_OPTION)) {
+            return;
+        }
+        GeneratorStatistics statistics = getEngine().getStatistics().drain();
+        if (statistics.getParsed() > 0 || statistics.getRendered() > 0) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, getClass().getSimpleName() + " " + statistics);
+        }
+        JavaTypeCache typeCache = JavaTypeCache.forElements(processingEnv.getElementUtils());
+        if (typeCache.getHits() > 0 || typeCache.getMisses() > 0) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, getClass().getSimpleName() + " " + typeCache);
+            typeCache.resetStatistics();
+        }
+        if (sourceCache != null && (sourceCache.getHits() > 0 || sourceCache.getMisses() > 0)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, getClass().getSimpleName() + " " + sourceCache);
+            sourceCache.resetStatistics();
+        }
+    }
+
+    public GeneratorEngine getEngine() {
+        return engine != null ? engine : GeneratorEngine.getDefault();
+    }
+
+    /**
+     * Registers an emitter that may be used instead of the specified template.
+     * @param resourceName  The template.
+     * @param emitter       The emitter.
+     */
+    protected void registerEmitter(String resourceName, CodeEmitter<JavaClazz> emitter) {
+        emitters.put(resourceName, emitter);
+    }
+
+    /**
+     * Returns the emitter to use for the specified template.
+     * @param resourceName  The template.
+     * @return              The emitter, or null if the template should be rendered by velocity.
+     */
+    public CodeEmitter<JavaClazz> getEmitter(String resourceName) {
+        return emittersEnabled ? emitters.get(resourceName) : null;
+    }
+
+    /**
+     * Generates a source file from the specified {@link io.sundr.codegen.model.JavaClazz}.
      * @param model                     The model of the class to generate.
      * @param resourceName              The template to use.
+     * @param originatingElements       The elements the source is generated from (used by incremental builds).
      * @throws IOException
      */
-    public void generateFromClazz(JavaClazz model, String resourceName) throws IOException {
+    public void generateFromClazz(JavaClazz model, String resourceName, Element... originatingElements) throws IOException {
+        if (!generatedSources.add(model.getType().getFullyQualifiedName())) {
+            return;
+        }
+        if (parallelism > 1) {
+            pendingSources.add(new PendingSource(model, resourceName, originatingElements));
+            return;
+        }
         try {
+            if (sourceCache != null) {
+                writeSource(model, render(model, resourceName), originatingElements);
+                return;
+            }
             generateFromClazz(model, processingEnv
                     .getFiler()
-                    .createSourceFile(model.getType().getFullyQualifiedName()), resourceName);
+                    .createSourceFile(model.getType().getFullyQualifiedName(), originatingElements), resourceName);
         } catch (Exception e) {
             //TODO: Need to avoid dublicate interfaces here.
         }
@@ -53,10 +209,122 @@ public abstract class JavaGeneratingProcessor extends AbstractProcessor {
      */
    public void generateFromClazz(JavaClazz model, JavaFileObject fileObject, String resourceName) throws IOException {
         new CodeGeneratorBuilder<JavaClazz>()
+                .withGeneratorEngine(getEngine())
                 .withModel(model)
                 .withWriter(fileObject.openWriter())
                 .withTemplateResource(resourceName)
+                .withEmitter(getEmitter(resourceName))
                 .build()
                 .generate();
     }
+
+    /**
+     * Renders all sources queued by {@link #generateFromClazz(JavaClazz, String, Element...)} in parallel, into memory, and then
+     * writes them in the order they were queued. Only the calls to the {@link javax.annotation.processing.Filer} are
+     * serialized, so the output is identical to the sequential one. This is a no-op unless parallelism is enabled.
+     */
+    public void writePendingSources() {
+        if (pendingSources.isEmpty()) {
+            return;
+        }
+
+        List<PendingSource> sources = new ArrayList<PendingSource>(pendingSources);
+        pendingSources.clear();
+
+        List<Callable<String>> tasks = new ArrayList<Callable<String>>();
+        for (final PendingSource source : sources) {
+            tasks.add(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return render(source.getModel(), source.getResourceName());
+                }
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Future<String>> rendered = pool.invokeAll(tasks);
+            for (int i = 0; i < sources.size(); i++) {
+                PendingSource source = sources.get(i);
+                try {
+                    writeSource(source.getModel(), rendered.get(i).get(), source.getOriginatingElements());
+                } catch (Exception e) {
+                    //TODO: Need to avoid dublicate interfaces here.
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Renders the specified {@link io.sundr.codegen.model.JavaClazz} into a {@link String}.
+     * If a source cache has been configured, a source previously rendered from an identical model and template is reused.
+     *
+     * @param model        The model of the class to generate.
+     * @param resourceName The template to use.
+     * @return             The generated source.
+     * @throws IOException
+     */
+    public String render(JavaClazz model, String resourceName) throws IOException {
+        String name = model.getType().getFullyQualifiedName();
+        String key = null;
+        if (sourceCache != null) {
+            key = sourceCache.keyOf(model, resourceName, getEmitter(resourceName));
+            String cached = key != null ? sourceCache.get(name, key) : null;
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        StringWriter writer = new StringWriter();
+        new CodeGeneratorBuilder<JavaClazz>()
+                .withGeneratorEngine(getEngine())
+                .withModel(model)
+                .withWriter(writer)
+                .withTemplateResource(resourceName)
+                .withEmitter(getEmitter(resourceName))
+                .build()
+                .generate();
+
+        String source = writer.toString();
+        if (sourceCache != null && key != null) {
+            sourceCache.put(name, key, source);
+        }
+        return source;
+    }
+
+    private void writeSource(JavaClazz model, String content, Element... originatingElements) throws IOException {
+        JavaFileObject fileObject = processingEnv.getFiler().createSourceFile(model.getType().getFullyQualifiedName(), originatingElements);
+        Writer writer = fileObject.openWriter();
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static class PendingSource {
+        private final JavaClazz model;
+        private final String resourceName;
+        private final Element[] originatingElements;
+
+        private PendingSource(JavaClazz model, String resourceName, Element[] originatingElements) {
+            this.model = model;
+            this.resourceName = resourceName;
+            this.originatingElements = originatingElements;
+        }
+
+        public JavaClazz getModel() {
+            return model;
+        }
+
+        public String getResourceName() {
+            return resourceName;
+        }
+
+        public Element[] getOriginatingElements() {
+            return originatingElements;
+        }
+    }
 }
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen.utils;
+
+import io.sundr.Function;
+import io.sundr.builder.TypedVisitor;
+import io.sundr.codegen.model.JavaClazz;
+import io.sundr.codegen.model.JavaKind;
+import io.sundr.codegen.model.JavaMethod;
+import io.sundr.codegen.model.JavaProperty;
+import io.sundr.codegen.model.JavaPropertyBuilder;
+import io.sundr.codegen.model.JavaType;
+import io.sundr.codegen.model.JavaTypeBuilder;
+
+import javax.lang.model.element.Modifier;
+import java.io.IOException;
+import java.util.Collections;
+
+import static io.sundr.codegen.utils.StringUtils.join;
+
+/**
+ * Writes the declarations of the {@link JavaClazz} model to an {@link Appendable}.
+ * Shared by the template directives and the template-free emitters, so that both produce the same declarations.
+ */
+public final class DeclarationUtils {
+
+    private static final JavaType OBJECT_TYPE = new JavaType(JavaKind.CLASS, "java.lang", "Object", false, false, true, null, null, null, new JavaType[0], Collections.<String, Object>emptyMap());
+
+    private DeclarationUtils() {
+        //Utility Class
+    }
+
+    /**
+     * Writes the package declaration and the imports of the specified class.
+     * @param out       Where to write.
+     * @param clazz     The class.
+     * @throws IOException
+     */
+    public static void writePackageAndImports(Appendable out, JavaClazz clazz) throws IOException {
+        out.append("package ").append(clazz.getType().getPackageName()).append(";\n\n");
+        for (JavaType i : clazz.getImports()) {
+            out.append("import ").append(i.getFullyQualifiedName()).append(";\n");
+        }
+    }
+
+    /**
+     * Writes the declaration of the specified class, up to and including the opening brace.
+     * @param out       Where to write.
+     * @param clazz     The class.
+     * @throws IOException
+     */
+    public static void writeClassHeader(Appendable out, JavaClazz clazz) throws IOException {
+        JavaTypeToString toString = new JavaTypeToString(getEnclosingType(clazz));
+        JavaType type = clazz.getType();
+        JavaKind kind = type.getKind() != null ? type.getKind() : JavaKind.CLASS;
+
+        out.append("public ").append(kind.name().toLowerCase()).append(" ");
+        out.append(toString.apply(type));
+
+        writeExtends(out, type, toString);
+        writeImplements(out, type, toString);
+
+        out.append("{\n");
+    }
+
+    public static void writeClassFooter(Appendable out) throws IOException {
+        out.append("\n}\n");
+    }
+
+    /**
+     * Writes the signature of the specified method, without the body or the terminating semicolon.
+     * @param out       Where to write.
+     * @param method    The method.
+     * @throws IOException
+     */
+    public static void writeMethodSignature(Appendable out, JavaMethod method) throws IOException {
+        out.append(join(method.getModifiers(), ModifierToString.INSTANCE, " ")).append(" ");
+        if (method.getTypeParameters() != null && !method.getTypeParameters().isEmpty()) {
+            out.append("<")
+                    .append(join(method.getTypeParameters(), SimpleNameToString.INSTANCE, ", "))
+                    .append("> ");
+        }
+
+        out.append(method.getReturnType().getSimpleName())
+                .append(" ")
+                .append(method.getName())
+                .append("(")
+                .append(methodArguments(method.getArguments()))
+                .append(")");
+
+        if (method.getExceptions().size() > 0) {
+            out.append(" throws ").append(join(method.getExceptions(), ""));
+        }
+    }
+
+    /**
+     * Writes the declaration of the specified field, including the default value and the terminating semicolon.
+     * @param out       Where to write.
+     * @param field     The field.
+     * @throws IOException
+     */
+    public static void writeField(Appendable out, JavaProperty field) throws IOException {
+        if (field != null) {
+            out.append(JavaPropertyToString.INSTANCE.apply(field));
+            if (field.getType().getDefaultImplementation() != null) {
+                JavaType defaultImpl = field.getType().getDefaultImplementation();
+                out.append(" = new ").append(SimpleNameToString.INSTANCE.apply(defaultImpl)).append("()");
+            }
+        }
+        out.append(";");
+    }
+
+    private static void writeExtends(Appendable out, JavaType type, Function<JavaType, String> toString) throws IOException {
+        if (type.getKind() != JavaKind.INTERFACE) {
+            if (type.getSuperClass() != null && !OBJECT_TYPE.equals(type.getSuperClass())) {
+                out.append(" extends ").append(toString.apply(type.getSuperClass()));
+            }
+        } else {
+            if (type.getInterfaces().size() > 0) {
+                out.append(" extends ").append(join(type.getInterfaces(), toString, ", "));
+            }
+        }
+    }
+
+    private static void writeImplements(Appendable out, JavaType type, Function<JavaType, String> toString) throws IOException {
+        if (type.getKind() != JavaKind.INTERFACE) {
+            if (type.getInterfaces().size() > 0) {
+                out.append(" implements ").append(join(type.getInterfaces(), toString, ", "));
+            }
+        }
+    }
+
+    private static JavaType getEnclosingType(JavaClazz clazz) {
+        Object obj = clazz.getAttributes().get("MEMBER_OF");
+        if (obj instanceof JavaType) {
+            return (JavaType) obj;
+        } else {
+            return clazz.getType();
+        }
+    }
+
+    private static String methodArguments(JavaProperty[] arguments) {
+        if (arguments.length == 0) {
+            return "";
+        } else {
+            int lastIndex = arguments.length - 1;
+            if (arguments[lastIndex].isArray()) {
+                JavaProperty[] pre = new JavaProperty[arguments.length -1];
+                System.arraycopy(arguments, 0, pre, 0, arguments.length -1);
+                JavaProperty varArg = new JavaPropertyBuilder(arguments[lastIndex]).accept(new TypedVisitor<JavaTypeBuilder>() {
+                    @Override
+                    public Class<JavaTypeBuilder> getType() {
+                        return JavaTypeBuilder.class;
+                    }
+
+                    @Override
+                    public void visit(JavaTypeBuilder element) {
+                        element.withArray(false);
+                    }
+                }).build();
+                return join(pre, JavaPropertyToString.INSTANCE, ", ") + VarArgPropertyToString.INSTANCE.apply(varArg);
+            } else {
+                return join(arguments, JavaPropertyToString.INSTANCE, ", ");
+            }
+        }
+    }
+
+    private static class JavaTypeToString implements Function<JavaType, String> {
+
+        private final JavaType enclosingType;
+
+        JavaTypeToString(JavaType enclosingType) {
+            this.enclosingType = enclosingType;
+        }
+
+        @Override
+        public String apply(JavaType item) {
+            StringBuilder sb = new StringBuilder();
+            if (item.getClassName().equals(enclosingType.getClassName())
+                    && !item.getFullyQualifiedName().equals(enclosingType.getFullyQualifiedName())) {
+                sb.append(item.getFullyQualifiedName());
+            } else sb.append(item.getClassName());
+            if (item.isArray()) {
+                sb.append("[]");
+            }
+            if (item.getKind() == JavaKind.GENERIC && item.getSuperClass() != null) {
+                sb.append(" extends " + apply(item.getSuperClass()));
+            }
+            if (item.getGenericTypes() != null && item.getGenericTypes().length > 0) {
+                sb.append("<").append(join(item.getGenericTypes(), this, ",")).append(">");
+            }
+            return sb.toString();
+        }
+    }
+
+    //Enum Singleton
+    private enum ModifierToString implements Function<Modifier, String> {
+        INSTANCE;
+
+        public String apply(Modifier modifier) {
+            return modifier.name().toLowerCase();
+        }
+    }
+
+    //Enum Singleton
+    private enum SimpleNameToString implements Function<JavaType, String> {
+        INSTANCE;
+
+        @Override
+        public String apply(JavaType item) {
+            return item.getSimpleName();
+        }
+    }
+
+    //Enum Singleton
+    private enum JavaPropertyToString implements Function<JavaProperty, String> {
+        INSTANCE;
+
+        @Override
+        public String apply(JavaProperty item) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(join(item.getModifiers(), ModifierToString.INSTANCE, " ")).append(" ");
+            sb.append(item.getType().getSimpleName()).append(" ").append(item.getName());
+            return sb.toString();
+        }
+    }
+
+    //Enum Singleton
+    private enum VarArgPropertyToString implements Function<JavaProperty, String> {
+        INSTANCE;
+
+        @Override
+        public String apply(JavaProperty item) {
+            StringBuilder sb = new StringBuilder();
+            String propertyType = item.getType().getSimpleName();
+            sb.append(join(item.getModifiers(), ModifierToString.INSTANCE, " ")).append(" ");
+            sb.append(propertyType).append(" ...").append(item.getName());
+            return sb.toString();
+        }
+    }
+}
@@ -16,17 +16,40 @@
 
 package io.sundr.builder;
 
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class BaseFluent<F extends BaseFluent<F>> implements Fluent<F>, Visitable<F> {
 
-    public final List<Visitable> _visitables = new ArrayList<Visitable>();
+    /**
+     * The number of elements above which the subtree of a fluent is visited in parallel by a {@link ParallelVisitor}.
+     */
+    public static final int PARALLEL_THRESHOLD = Integer.getInteger("sundrio.visitor.parallel.threshold", 1000);
+
+    /**
+     * The maximum number of elements of sets that are backed by an array, when compacted.
+     */
+    public static final int COMPACT_SET_LIMIT = 8;
+
+    public final VisitableRegistry _visitables = new VisitableRegistry();
+    private BaseFluent<?> _parent;
+    private Object _built;
+    private Object _source;
 
     public static <T> ArrayList<T> build(List<? extends Builder<T>> list) {
-        ArrayList<T> result = new ArrayList<T>();
+        ArrayList<T> result = new ArrayList<T>(list.size());
         for (Builder<T> builder : list) {
             result.add(builder.build());
         }
@@ -34,7 +57,7 @@ public class BaseFluent<F extends BaseFluent<F>> implements Fluent<F>, Visitable
     }
 
     public static <T> LinkedHashSet<T> build(Set<? extends Builder<T>> list) {
-        LinkedHashSet<T> result = new LinkedHashSet<T>();
+        LinkedHashSet<T> result = new LinkedHashSet<T>(capacityOf(list.size()));
         for (Builder<T> builder : list) {
             result.add(builder.build());
         }
@@ -42,7 +65,11 @@ public class BaseFluent<F extends BaseFluent<F>> implements Fluent<F>, Visitable
     }
 
     public static <T> ArrayList<T> aggregate(List<? extends T> ...lists) {
-        ArrayList<T> result = new ArrayList<T>();
+        int size = 0;
+        for (List<? extends T> list : lists) {
+            size += list.size();
+        }
+        ArrayList<T> result = new ArrayList<T>(size);
 
         for (List<? extends T> list : lists) {
             result.addAll(list);
@@ -51,7 +78,11 @@ public class BaseFluent<F extends BaseFluent<F>> implements Fluent<F>, Visitable
     }
 
     public static <T> LinkedHashSet<T> aggregate(Set<? extends T> ...sets) {
-        LinkedHashSet<T> result = new LinkedHashSet<T>();
+        int size = 0;
+        for (Set<? extends T> set : sets) {
+            size += set.size();
+        }
+        LinkedHashSet<T> result = new LinkedHashSet<T>(capacityOf(size));
 
         for (Set<? extends T> set : sets) {
             result.addAll(set);
@@ -59,12 +90,479 @@ public class BaseFluent<F extends BaseFluent<F>> implements Fluent<F>, Visitable
         return result;
     }
 
+    /**
+     * Builds the items of the lists into a single immutable list, without intermediate copies.
+     * Empty and singleton lists use the specialized implementations of {@link Collections}.
+     */
+    public static <T> List<T> buildCompact(List<? extends Builder<? extends T>> ...lists) {
+        int size = 0;
+        for (List<? extends Builder<? extends T>> list : lists) {
+            size += list.size();
+        }
+        Object[] elements = new Object[size];
+        int index = 0;
+        for (List<? extends Builder<? extends T>> list : lists) {
+            for (int i = 0; i < list.size(); i++) {
+                elements[index++] = list.get(i).build();
+            }
+        }
+        return compact(elements);
+    }
+
+    /**
+     * Returns an immutable copy of the list, backed by an array.
+     * Lists that are already compact are returned as is.
+     */
+    public static <T> List<T> compact(List<? extends T> list) {
+        if (list instanceof CompactList) {
+            return (List<T>) list;
+        }
+        return compact(list.toArray());
+    }
+
+    private static <T> List<T> compact(Object[] elements) {
+        switch (elements.length) {
+            case 0:
+                return Collections.emptyList();
+            case 1:
+                return Collections.singletonList((T) elements[0]);
+            default:
+                return new CompactList<T>(elements);
+        }
+    }
+
+    /**
+     * Returns an immutable copy of the set, that preserves its iteration order.
+     * Sets of up to {@link #COMPACT_SET_LIMIT} elements are backed by an array, larger sets by a hash table.
+     */
+    public static <T> Set<T> compact(Set<? extends T> set) {
+        switch (set.size()) {
+            case 0:
+                return Collections.emptySet();
+            case 1:
+                return Collections.<T>singleton(set.iterator().next());
+            default:
+                if (set.size() <= COMPACT_SET_LIMIT) {
+                    return new CompactSet<T>(set.toArray());
+                }
+                return Collections.unmodifiableSet(new LinkedHashSet<T>(set));
+        }
+    }
+
+    /**
+     * Returns an immutable copy of the map, that preserves its iteration order.
+     * Empty and singleton maps use the specialized implementations of {@link Collections}.
+     */
+    public static <K, V> Map<K, V> compact(Map<? extends K, ? extends V> map) {
+        switch (map.size()) {
+            case 0:
+                return Collections.emptyMap();
+            case 1:
+                Map.Entry<? extends K, ? extends V> entry = map.entrySet().iterator().next();
+                return Collections.<K, V>singletonMap(entry.getKey(), entry.getValue());
+            default:
+                return Collections.unmodifiableMap(new LinkedHashMap<K, V>(map));
+        }
+    }
+
+    /**
+     * Returns a view of the list, that discards the cached build result of this fluent when it gets modified.
+     * Getters return such views, so that reading a property doesn't discard the cached build result.
+     */
+    protected <E> List<E> _invalidating(final List<E> list) {
+        return new AbstractList<E>() {
+            @Override
+            public E get(int index) {
+                return list.get(index);
+            }
+
+            @Override
+            public int size() {
+                return list.size();
+            }
+
+            @Override
+            public E set(int index, E element) {
+                _invalidate();
+                return list.set(index, element);
+            }
+
+            @Override
+            public void add(int index, E element) {
+                _invalidate();
+                list.add(index, element);
+            }
+
+            @Override
+            public E remove(int index) {
+                _invalidate();
+                return list.remove(index);
+            }
+
+            @Override
+            public void clear() {
+                _invalidate();
+                list.clear();
+            }
+        };
+    }
+
+    /**
+     * Returns a view of the set, that discards the cached build result of this fluent when it gets modified.
+     */
+    protected <E> Set<E> _invalidating(final Set<E> set) {
+        return new AbstractSet<E>() {
+            @Override
+            public Iterator<E> iterator() {
+                final Iterator<E> iterator = set.iterator();
+                return new Iterator<E>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public E next() {
+                        return iterator.next();
+                    }
+
+                    @Override
+                    public void remove() {
+                        _invalidate();
+                        iterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return set.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return set.contains(o);
+            }
+
+            @Override
+            public boolean add(E element) {
+                _invalidate();
+                return set.add(element);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                _invalidate();
+                return set.remove(o);
+            }
+
+            @Override
+            public void clear() {
+                _invalidate();
+                set.clear();
+            }
+        };
+    }
+
+    /**
+     * Returns a view of the map, that discards the cached build result of this fluent when it gets modified.
+     */
+    protected <K, V> Map<K, V> _invalidating(final Map<K, V> map) {
+        return new AbstractMap<K, V>() {
+            @Override
+            public Set<Map.Entry<K, V>> entrySet() {
+                return new AbstractSet<Map.Entry<K, V>>() {
+                    @Override
+                    public Iterator<Map.Entry<K, V>> iterator() {
+                        final Iterator<Map.Entry<K, V>> iterator = map.entrySet().iterator();
+                        return new Iterator<Map.Entry<K, V>>() {
+                            @Override
+                            public boolean hasNext() {
+                                return iterator.hasNext();
+                            }
+
+                            @Override
+                            public Map.Entry<K, V> next() {
+                                final Map.Entry<K, V> entry = iterator.next();
+                                return new AbstractMap.SimpleEntry<K, V>(entry) {
+                                    @Override
+                                    public V setValue(V value) {
+                                        _invalidate();
+                                        entry.setValue(value);
+                                        return super.setValue(value);
+                                    }
+                                };
+                            }
+
+                            @Override
+                            public void remove() {
+                                _invalidate();
+                                iterator.remove();
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return map.size();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return map.containsKey(key);
+            }
+
+            @Override
+            public V get(Object key) {
+                return map.get(key);
+            }
+
+            @Override
+            public V put(K key, V value) {
+                _invalidate();
+                return map.put(key, value);
+            }
+
+            @Override
+            public V remove(Object key) {
+                _invalidate();
+                return map.remove(key);
+            }
+
+            @Override
+            public void clear() {
+                _invalidate();
+                map.clear();
+            }
+        };
+    }
+
+    /**
+     * Returns the initial capacity of a hash based collection, that holds the specified number of items without rehashing.
+     */
+    private static int capacityOf(int size) {
+        return Math.max(16, (int) (size / .75f) + 1);
+    }
+
+    /**
+     * Returns the object built from this fluent, if it has not been modified since.
+     * @return  The cached object or null.
+     */
+    public Object _getBuilt() {
+        return _built;
+    }
+
+    public void _setBuilt(Object built) {
+        this._built = built;
+    }
+
+    /**
+     * Discards the cached build result of this fluent and of all the fluents it is nested into.
+     */
+    protected void _invalidate() {
+        for (BaseFluent<?> fluent = this; fluent != null; fluent = fluent._parent) {
+            fluent._built = null;
+        }
+    }
+
+    /**
+     * Brings this fluent back to its initial state. Fluents that declare properties, reset them too.
+     */
+    public void _reset() {
+        _visitables.clear();
+        _built = null;
+        _source = null;
+    }
+
+    /**
+     * Makes this fluent start out with the properties of the specified instance. The properties are copied when the
+     * fluent is first accessed, so nested builders are only created for the parts of a tree that are accessed.
+     * @param source    The instance.
+     */
+    public void _fork(Object source) {
+        this._source = source;
+    }
+
+    /**
+     * Copies the properties of the instance this fluent was forked from, if they haven't been copied yet.
+     * Copying is not a modification, so it keeps the cached build result of this fluent and its parents.
+     */
+    protected void _materialize() {
+        if (_source == null) {
+            return;
+        }
+        Object source = _source;
+        BaseFluent<?> parent = _parent;
+        Object built = _built;
+        _source = null;
+        _parent = null;
+        try {
+            _copy(source);
+        } finally {
+            _parent = parent;
+            _built = built;
+        }
+    }
+
+    /**
+     * Copies the properties of the specified instance into this fluent. Fluents that declare properties, override it.
+     * @param source    The instance.
+     */
+    protected void _copy(Object source) {
+    }
+
+    protected void _attach(Object child) {
+        if (child instanceof BaseFluent) {
+            ((BaseFluent<?>) child)._parent = this;
+        }
+    }
+
+    /**
+     * Checks if this fluent, or any of the builders that can be nested into it, is of the specified type.
+     * Fluents that don't know which builders can be nested into them, should always return true.
+     * @param type  The type.
+     * @return      False, if the type cannot be found in the tree of this fluent.
+     */
+    protected boolean _canVisit(Class<?> type) {
+        return true;
+    }
+
     @Override
     public F accept(Visitor visitor) {
-        for (Visitable visitable : _visitables) {
-            visitable.accept(visitor);
+        if (visitor instanceof ParallelVisitor) {
+            //Only hand off to the pool, when the visitor can match and there are enough nodes to split.
+            Class<?> type = visitorType(visitor);
+            if (type != null && !_canVisit(type)) {
+                return (F) this;
+            } else if (hasMoreThan(this, PARALLEL_THRESHOLD)) {
+                ForkJoinPool.commonPool().invoke(new AcceptTask(this, visitor));
+            } else {
+                acceptSequentially(visitor);
+            }
+        } else {
+            acceptSequentially(visitor);
         }
-        visitor.visit(this);
         return (F) this;
     }
+
+    /**
+     * Visits this fluent and all the visitables nested into it, using an explicit stack instead of recursion, so that
+     * deep trees can be visited. Visitables that are not fluents are visited, but not traversed.
+     * @param visitor   The visitor, which may skip subtrees or terminate the traversal.
+     * @param order     The traversal order.
+     * @return          This fluent.
+     */
+    public F traverse(TraversalVisitor visitor, Traversal order) {
+        boolean postOrder = order == Traversal.POST_ORDER;
+        List<Visitable> stack = new ArrayList<Visitable>();
+        BitSet expanded = new BitSet();
+        stack.add(this);
+        while (!stack.isEmpty()) {
+            int top = stack.size() - 1;
+            Visitable current = stack.get(top);
+            if (postOrder && !expanded.get(top) && current instanceof BaseFluent) {
+                expanded.set(top);
+                ((BaseFluent<?>) current)._materialize();
+                ((BaseFluent<?>) current)._visitables.pushTo(stack);
+                continue;
+            }
+            stack.remove(top);
+            expanded.clear(top);
+            VisitResult result = visitor.visit(current);
+            if (result == VisitResult.TERMINATE) {
+                break;
+            } else if (!postOrder && result != VisitResult.SKIP_SUBTREE && current instanceof BaseFluent) {
+                ((BaseFluent<?>) current)._materialize();
+                ((BaseFluent<?>) current)._visitables.pushTo(stack);
+            }
+        }
+        return (F) this;
+    }
+
+    private static boolean hasMoreThan(BaseFluent<?> fluent, int limit) {
+        List<Visitable> stack = new ArrayList<Visitable>();
+        stack.add(fluent);
+        for (int count = 0; !stack.isEmpty(); count++) {
+            if (count > limit) {
+                return true;
+            }
+            Visitable current = stack.remove(stack.size() - 1);
+            if (current instanceof BaseFluent) {
+                ((BaseFluent<?>) current)._materialize();
+                ((BaseFluent<?>) current)._visitables.pushTo(stack);
+            }
+        }
+        return false;
+    }
+
+    private static Class<?> visitorType(Visitor visitor) {
+        return visitor instanceof TypedVisitor ? ((TypedVisitor<?>) visitor).getType() : null;
+    }
+
+    private void acceptSequentially(Visitor visitor) {
+        Class<?> type = visitorType(visitor);
+        if (type != null && !_canVisit(type)) {
+            return;
+        }
+        _materialize();
+        for (Visitable visitable : _visitables) {
+            if (visitable instanceof BaseFluent) {
+                ((BaseFluent<?>) visitable).acceptSequentially(visitor);
+            } else {
+                visitable.accept(visitor);
+            }
+        }
+        if (type == null || type.isInstance(this)) {
+            visitor.visit(this);
+        }
+    }
+
+    /**
+     * Visits the subtrees of a large fluent in parallel, and the subtrees of small fluents sequentially.
+     */
+    private static class AcceptTask extends RecursiveAction {
+
+        private final Visitable visitable;
+        private final Visitor visitor;
+
+        private AcceptTask(Visitable visitable, Visitor visitor) {
+            this.visitable = visitable;
+            this.visitor = visitor;
+        }
+
+        @Override
+        protected void compute() {
+            if (!(visitable instanceof BaseFluent)) {
+                visitable.accept(visitor);
+                return;
+            }
+
+            BaseFluent<?> fluent = (BaseFluent<?>) visitable;
+            Class<?> type = visitorType(visitor);
+            if (type != null && !fluent._canVisit(type)) {
+                return;
+            } else if (!hasMoreThan(fluent, PARALLEL_THRESHOLD)) {
+                fluent.acceptSequentially(visitor);
+                return;
+            }
+
+            List<AcceptTask> tasks = new ArrayList<AcceptTask>();
+            fluent._materialize();
+            for (Visitable child : fluent._visitables) {
+                tasks.add(new AcceptTask(child, visitor));
+            }
+            invokeAll(tasks);
+
+            if (type == null || type.isInstance(fluent)) {
+                visitor.visit(fluent);
+            }
+        }
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.builder;
+
+import java.util.ArrayDeque;
+
+/**
+ * A pool of reusable builders, that keeps the idle builders of each thread separately.
+ * Builders are acquired from and released to the pool of the calling thread, so no synchronization is needed.
+ * Released builders are reset and must not be used by the caller anymore.
+ * @param <B>   The type of the builders.
+ */
+public class BuilderPool<B extends Reusable<B>> {
+
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final Class<B> type;
+    private final int capacity;
+    private final ThreadLocal<ArrayDeque<B>> pools = new ThreadLocal<ArrayDeque<B>>();
+
+    public BuilderPool(Class<B> type) {
+        this(type, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates the pool.
+     * @param type      The type of the builders. It needs to have a public no-args constructor.
+     * @param capacity  The maximum number of idle builders kept for each thread.
+     */
+    public BuilderPool(Class<B> type, int capacity) {
+        this.type = type;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Takes an idle builder from the pool of the calling thread, or creates a new one if there is none.
+     * @return  A builder in its initial state.
+     */
+    public B acquire() {
+        B builder = pool().pollLast();
+        if (builder != null) {
+            return builder;
+        }
+        try {
+            return type.newInstance();
+        } catch (InstantiationException e) {
+            throw new IllegalStateException("Failed to create builder of type: " + type.getName(), e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to create builder of type: " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Resets the builder and returns it to the pool of the calling thread. The builder is dropped if the pool is full.
+     * @param builder   The builder to release.
+     */
+    public void release(B builder) {
+        ArrayDeque<B> pool = pool();
+        if (pool.size() < capacity) {
+            pool.addLast(builder.reset());
+        }
+    }
+
+    private ArrayDeque<B> pool() {
+        ArrayDeque<B> pool = pools.get();
+        if (pool == null) {
+            pool = new ArrayDeque<B>();
+            pools.set(pool);
+        }
+        return pool;
+    }
+}
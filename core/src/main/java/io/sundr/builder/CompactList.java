@@ -0,0 +1,47 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list backed by an array, that is sized exactly to the elements of the list.
+ * @param <T>   The type of the elements.
+ */
+public class CompactList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final Object[] elements;
+
+    /**
+     * Creates the list.
+     * @param elements  The elements of the list. The array is not copied.
+     */
+    public CompactList(Object[] elements) {
+        this.elements = elements;
+    }
+
+    @Override
+    public T get(int index) {
+        return (T) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+}
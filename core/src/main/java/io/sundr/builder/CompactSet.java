@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.builder;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * An immutable set backed by an array, for sets that hold a few elements.
+ * Lookups are linear, which for a few elements is cheaper than hashing, and no hash table entries are retained.
+ * @param <T>   The type of the elements.
+ */
+public class CompactSet<T> extends AbstractSet<T> {
+
+    private final Object[] elements;
+
+    /**
+     * Creates the set.
+     * @param elements  The distinct elements of the set, in iteration order. The array is not copied.
+     */
+    public CompactSet(Object[] elements) {
+        this.elements = elements;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return (Iterator<T>) Arrays.asList(elements).iterator();
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+}
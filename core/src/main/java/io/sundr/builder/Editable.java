@@ -20,7 +20,8 @@ package io.sundr.builder;
  * An interface that describes an Editable object.
  * Editable objects are objects that can by edited by obtaining
  * a new instance of the appropriate {@link Builder} feed with the information encapsulated
- * by the current instance.
+ * by the current instance. Objects that are not modified through the builder are shared
+ * between the current instance and the one that gets built.
  * @param <T>
  */
 public interface Editable<T> {
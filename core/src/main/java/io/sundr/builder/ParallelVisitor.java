@@ -0,0 +1,33 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.builder;
+
+/**
+ * A {@link Visitor} that is safe to call from multiple threads at once, so that {@link BaseFluent#accept(Visitor)} can
+ * visit sibling subtrees in parallel, when the tree is large enough (see {@link BaseFluent#PARALLEL_THRESHOLD}).
+ * Parallel visitors should not modify the visited builders.
+ *
+ * <p>Compared to sequential visiting, the following guarantees are given up:
+ * <ul>
+ *     <li>Siblings and their subtrees are visited in no particular order.</li>
+ *     <li>The visitor is invoked concurrently, so any state it keeps must be thread-safe.</li>
+ * </ul>
+ * An element is still visited after all the elements nested into it. Parallel visiting uses the common fork join pool.
+ */
+public interface ParallelVisitor<V> extends Visitor<V> {
+}
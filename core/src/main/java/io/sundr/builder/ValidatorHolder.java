@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.builder;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+/**
+ * Holds the {@link Validator} that is shared by all validating builders.
+ * The default validator is created lazily, on first use, as bootstrapping a validation provider is expensive.
+ * Applications may supply their own pre-configured instance using {@link #setValidator(Validator)}.
+ */
+public final class ValidatorHolder {
+
+    private static volatile Validator validator;
+
+    private ValidatorHolder() {
+        //Utility Class
+    }
+
+    /**
+     * Returns the shared validator, creating the default one if none has been set.
+     * @return  The validator.
+     * @throws javax.validation.ValidationException If no validation provider is available.
+     */
+    public static Validator getValidator() {
+        Validator result = validator;
+        if (result == null) {
+            synchronized (ValidatorHolder.class) {
+                result = validator;
+                if (result == null) {
+                    result = Validation.buildDefaultValidatorFactory().getValidator();
+                    validator = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sets the validator to be used by all validating builders.
+     * @param validator The validator, or null to fall back to the default validator.
+     */
+    public static void setValidator(Validator validator) {
+        ValidatorHolder.validator = validator;
+    }
+}
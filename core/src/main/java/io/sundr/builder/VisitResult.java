@@ -0,0 +1,34 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.builder;
+
+/**
+ * The signals a {@link TraversalVisitor} uses to control the traversal.
+ */
+public enum VisitResult {
+
+    CONTINUE,
+
+    /**
+     * Skips the visitables nested into the visited element. Has no effect on post-order traversal, as the nested
+     * visitables have already been visited.
+     */
+    SKIP_SUBTREE,
+
+    TERMINATE
+}
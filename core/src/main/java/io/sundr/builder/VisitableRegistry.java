@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Holds the visitables of a fluent, grouped by the property they are assigned to.
+ * This allows fluents to drop the visitables of a property, when the property is overwritten.
+ */
+public class VisitableRegistry implements Iterable<Visitable> {
+
+    private final Map<String, List<Visitable>> visitables = new LinkedHashMap<String, List<Visitable>>();
+    //The same lists in registration order, so that they can be walked by index.
+    private final List<List<Visitable>> lists = new ArrayList<List<Visitable>>();
+
+    /**
+     * Returns the visitables of the specified property, registering an empty list if there are none.
+     * @param property  The name of the property.
+     * @return          The list of visitables.
+     */
+    public List<Visitable> listOf(String property) {
+        List<Visitable> result = visitables.get(property);
+        if (result == null) {
+            result = new ArrayList<Visitable>();
+            visitables.put(property, result);
+            lists.add(result);
+        }
+        return result;
+    }
+
+    /**
+     * Drops the visitables of the specified property.
+     * @param property  The name of the property.
+     */
+    public void remove(String property) {
+        List<Visitable> removed = visitables.remove(property);
+        if (removed == null) {
+            return;
+        }
+        //Lists are compared by identity, as distinct properties may hold equal lists.
+        for (int i = 0; i < lists.size(); i++) {
+            if (lists.get(i) == removed) {
+                lists.remove(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops the visitables of all properties.
+     */
+    public void clear() {
+        visitables.clear();
+        lists.clear();
+    }
+
+    /**
+     * Returns the lists of visitables, one per property, in the order the properties were registered.
+     * @return  A read only view of the lists.
+     */
+    public Collection<List<Visitable>> values() {
+        return Collections.unmodifiableList(lists);
+    }
+
+    /**
+     * Pushes the visitables of all properties onto the stack, last to first, so that they are popped in order.
+     * The lists are walked by index, so nothing is allocated besides the growth of the stack.
+     * @param stack The stack.
+     */
+    public void pushTo(List<? super Visitable> stack) {
+        for (int i = lists.size() - 1; i >= 0; i--) {
+            List<Visitable> list = lists.get(i);
+            for (int j = list.size() - 1; j >= 0; j--) {
+                stack.add(list.get(j));
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator over the visitables of all properties, that walks the lists in place.
+     */
+    @Override
+    public Iterator<Visitable> iterator() {
+        return new Iterator<Visitable>() {
+            private int list;
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                while (list < lists.size() && index >= lists.get(list).size()) {
+                    list++;
+                    index = 0;
+                }
+                return list < lists.size();
+            }
+
+            @Override
+            public Visitable next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return lists.get(list).get(index++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
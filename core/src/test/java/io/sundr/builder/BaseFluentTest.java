@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class BaseFluentTest {
+
+    private static class ValueBuilder implements Builder<Integer> {
+
+        private final int value;
+
+        private ValueBuilder(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public Integer build() {
+            return value;
+        }
+    }
+
+    private static class ValueFluent extends BaseFluent<ValueFluent> {
+    }
+
+    @Test
+    public void testInvalidatingViews() {
+        ValueFluent fluent = new ValueFluent();
+        List<Integer> list = fluent._invalidating(new ArrayList<Integer>(Arrays.asList(1, 2)));
+        Set<Integer> set = fluent._invalidating(new LinkedHashSet<Integer>(Arrays.asList(1, 2)));
+        Map<String, Integer> backing = new LinkedHashMap<String, Integer>();
+        backing.put("a", 1);
+        Map<String, Integer> map = fluent._invalidating(backing);
+
+        fluent._setBuilt(1);
+        Assert.assertEquals(Arrays.asList(1, 2), list);
+        Assert.assertTrue(set.contains(2));
+        Assert.assertEquals(Collections.singletonMap("a", 1), map);
+        Assert.assertNotNull(fluent._getBuilt());
+
+        list.add(3);
+        Assert.assertNull(fluent._getBuilt());
+
+        fluent._setBuilt(1);
+        Iterator<Integer> iterator = set.iterator();
+        iterator.next();
+        iterator.remove();
+        Assert.assertNull(fluent._getBuilt());
+        Assert.assertEquals(Collections.singleton(2), set);
+
+        fluent._setBuilt(1);
+        map.entrySet().iterator().next().setValue(2);
+        Assert.assertNull(fluent._getBuilt());
+        Assert.assertEquals(2, (int) backing.get("a"));
+    }
+
+    @Test
+    public void testCompactSet() {
+        Set<Integer> few = new LinkedHashSet<Integer>(Arrays.asList(3, 1, 2));
+        Set<Integer> compact = BaseFluent.compact(few);
+        Assert.assertEquals(few, compact);
+        Assert.assertEquals(new ArrayList<Integer>(few), new ArrayList<Integer>(compact));
+        Assert.assertTrue(compact.contains(2));
+        try {
+            compact.add(4);
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            //expected
+        }
+        Assert.assertTrue(BaseFluent.compact(new LinkedHashSet<Integer>()).isEmpty());
+    }
+
+    @Test
+    public void testCompactList() {
+        List<Integer> compact = BaseFluent.compact(Arrays.asList(1, 2));
+        Assert.assertEquals(Arrays.asList(1, 2), compact);
+        Assert.assertTrue(compact instanceof CompactList);
+        Assert.assertSame(compact, BaseFluent.compact(compact));
+        try {
+            compact.set(0, 3);
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            //expected
+        }
+        Assert.assertEquals(Collections.singletonList(1), BaseFluent.compact(Collections.singletonList(1)));
+        Assert.assertTrue(BaseFluent.compact(new ArrayList<Integer>()).isEmpty());
+    }
+
+    @Test
+    public void testCompactMap() {
+        Map<String, Integer> many = new LinkedHashMap<String, Integer>();
+        many.put("c", 3);
+        many.put("a", 1);
+        Map<String, Integer> compact = BaseFluent.compact(many);
+        Assert.assertEquals(many, compact);
+        Assert.assertEquals(Arrays.asList("c", "a"), new ArrayList<String>(compact.keySet()));
+        many.put("b", 2);
+        Assert.assertEquals(2, compact.size());
+        try {
+            compact.put("d", 4);
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            //expected
+        }
+        Assert.assertEquals(Collections.singletonMap("a", 1), BaseFluent.compact(Collections.singletonMap("a", 1)));
+        Assert.assertTrue(BaseFluent.compact(new LinkedHashMap<String, Integer>()).isEmpty());
+    }
+
+    @Test
+    public void testBuildCompact() {
+        List<ValueBuilder> first = Arrays.asList(new ValueBuilder(1), new ValueBuilder(2));
+        List<ValueBuilder> second = Collections.singletonList(new ValueBuilder(3));
+        List<Integer> built = BaseFluent.buildCompact(first, second);
+        Assert.assertEquals(Arrays.asList(1, 2, 3), built);
+        Assert.assertTrue(built instanceof CompactList);
+        Assert.assertEquals(Collections.singletonList(3), BaseFluent.buildCompact(second));
+        Assert.assertTrue(BaseFluent.buildCompact(Collections.<ValueBuilder>emptyList()).isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class VisitableRegistryTest {
+
+    private final Visitable first = new BaseFluent();
+    private final Visitable second = new BaseFluent();
+    private final Visitable third = new BaseFluent();
+
+    @Test
+    public void testIterationFollowsRegistrationOrder() {
+        VisitableRegistry registry = new VisitableRegistry();
+        registry.listOf("a").add(first);
+        registry.listOf("b").add(second);
+        registry.listOf("a").add(third);
+        //Properties without visitables are skipped.
+        registry.listOf("c");
+
+        List<Visitable> visited = new ArrayList<Visitable>();
+        for (Visitable visitable : registry) {
+            visited.add(visitable);
+        }
+        Assert.assertEquals(Arrays.asList(first, third, second), visited);
+        Assert.assertEquals(3, registry.values().size());
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        VisitableRegistry registry = new VisitableRegistry();
+        registry.listOf("a").add(first);
+        registry.listOf("b").add(second);
+
+        registry.remove("a");
+        Assert.assertTrue(registry.listOf("a").isEmpty());
+        Assert.assertFalse(registry.iterator().next() == first);
+
+        registry.clear();
+        Assert.assertTrue(registry.values().isEmpty());
+        Assert.assertFalse(registry.iterator().hasNext());
+    }
+
+    @Test
+    public void testPushTo() {
+        VisitableRegistry registry = new VisitableRegistry();
+        registry.listOf("a").add(first);
+        registry.listOf("b").add(second);
+        registry.listOf("a").add(third);
+
+        List<Visitable> stack = new ArrayList<Visitable>();
+        registry.pushTo(stack);
+        Assert.assertEquals(Arrays.asList(second, third, first), stack);
+    }
+
+    @Test
+    public void testRemoveDropsTheListOfTheProperty() {
+        VisitableRegistry registry = new VisitableRegistry();
+        //Both lists are empty, and thus equal.
+        registry.listOf("a");
+        registry.listOf("b");
+        registry.remove("b");
+        registry.listOf("a").add(first);
+        Assert.assertEquals(first, registry.iterator().next());
+        Assert.assertEquals(1, registry.values().size());
+    }
+}
@@ -32,7 +32,7 @@ public class JavaMethod extends AttributeSupport implements Method<JavaType, Jav
     private final JavaProperty[] arguments;
     private final Set<JavaType> exceptions;
 
-    @Buildable
+    @Buildable(buildCacheEnabled = true, compactCollectionsEnabled = true)
     public JavaMethod(Set<Modifier> modifiers, Set<JavaType> typeParameters, String name, JavaType returnType, JavaProperty[] arguments, Set<JavaType> exceptions, Map<String, Object> attributes) {
         super(attributes);
         this.modifiers = modifiers;
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.examples.codegen;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class CodegenTest {
+
+    @Test
+    public void testMutationThroughGetterDiscardsCachedBuild() {
+        JavaMethodBuilder builder = new JavaMethodBuilder()
+                .withName("run")
+                .addToModifiers(Modifier.PUBLIC);
+        JavaMethod method = builder.build();
+        Assert.assertSame(method, builder.build());
+
+        builder.getAttributes().put("key", "value");
+        builder.getModifiers().add(Modifier.FINAL);
+        JavaMethod modified = builder.build();
+        Assert.assertNotSame(method, modified);
+        Assert.assertEquals("value", modified.getAttributes().get("key"));
+        Assert.assertTrue(modified.getModifiers().contains(Modifier.FINAL));
+    }
+
+    @Test
+    public void testMutationThroughGetterAfterEdit() {
+        EditableJavaMethod method = new JavaMethodBuilder()
+                .withName("run")
+                .addToAttributes("key", "value")
+                .build();
+        Assert.assertSame(method, method.edit().build());
+
+        JavaMethodBuilder builder = method.edit();
+        builder.getAttributes().put("other", "value");
+        JavaMethod edited = builder.build();
+        Assert.assertNotSame(method, edited);
+        Assert.assertEquals("value", edited.getAttributes().get("other"));
+        Assert.assertNull(method.getAttributes().get("other"));
+
+        //Builders without a build cache share the edited instance too.
+        EditableAttributeSupport support = new AttributeSupportBuilder().addToAttributes("key", "value").build();
+        AttributeSupportBuilder supportBuilder = support.edit();
+        supportBuilder.getAttributes().remove("key");
+        Assert.assertTrue(supportBuilder.build().getAttributes().isEmpty());
+    }
+
+    @Test
+    public void testSetKeepsItsIdentity() {
+        JavaMethodBuilder builder = new JavaMethodBuilder().withName("run");
+        Set<Modifier> modifiers = builder.getModifiers();
+        builder.withModifiers(new LinkedHashSet<Modifier>(Arrays.asList(Modifier.PUBLIC, Modifier.STATIC)));
+        modifiers.add(Modifier.FINAL);
+        Assert.assertEquals(EnumSet.of(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL), builder.build().getModifiers());
+    }
+
+    @Test
+    public void testCompactMap() {
+        JavaMethodBuilder builder = new JavaMethodBuilder()
+                .withName("run")
+                .addToAttributes("first", 1)
+                .addToAttributes("second", 2);
+        JavaMethod method = builder.build();
+        builder.getAttributes().put("third", 3);
+
+        Assert.assertEquals(Arrays.asList("first", "second"), new ArrayList<String>(method.getAttributes().keySet()));
+        Assert.assertEquals(Collections.singletonMap("only", (Object) 1), new JavaMethodBuilder().addToAttributes("only", 1).build().getAttributes());
+        Assert.assertTrue(new JavaMethodBuilder().build().getAttributes().isEmpty());
+    }
+}
@@ -20,19 +20,18 @@ import io.sundr.builder.annotations.Buildable;
 import io.sundr.builder.annotations.Inline;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 public class Canvas {
 
     private final List<Shape> shapes;
 
-    @Buildable(inline = {
+    @Buildable(buildCacheEnabled = true, compactCollectionsEnabled = true, inline = {
             @Inline(type = Createable.class, value = "create", prefix = "Createable"),
             @Inline(type = Updateable.class, value = "update", prefix = "Updateable"),
     })
     public Canvas(List<Shape> shapes) {
-        this.shapes = Collections.unmodifiableList(shapes);
+        this.shapes = shapes;
     }
 
     public List<Shape> getShapes() {
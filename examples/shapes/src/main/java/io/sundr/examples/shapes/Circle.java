@@ -25,7 +25,7 @@ public class Circle implements Shape{
     private final int y;
     private final int radius;
 
-    @Buildable(inline = {
+    @Buildable(buildCacheEnabled = true, inline = {
             @Inline(type = Createable.class, value = "create", prefix = "Createable"),
             @Inline(type = Updateable.class, value = "update", prefix = "Updateable"),
     })
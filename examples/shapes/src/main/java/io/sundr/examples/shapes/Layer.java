@@ -0,0 +1,55 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.examples.shapes;
+
+import io.sundr.builder.annotations.Buildable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class Layer {
+
+    private final String name;
+    private final Set<String> tags;
+    private final List<Integer> counts;
+    private final Map<String, String> properties;
+
+    @Buildable(buildCacheEnabled = true)
+    public Layer(String name, Set<String> tags, List<Integer> counts, Map<String, String> properties) {
+        this.name = name;
+        this.tags = tags;
+        this.counts = counts;
+        this.properties = properties;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public List<Integer> getCounts() {
+        return counts;
+    }
+
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+}
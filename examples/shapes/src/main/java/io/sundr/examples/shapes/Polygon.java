@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.examples.shapes;
+
+import io.sundr.builder.annotations.Buildable;
+
+import java.util.List;
+
+public class Polygon implements Shape {
+
+    private final int x;
+    private final int y;
+    private final int[] xpoints;
+    private final int[] ypoints;
+    private final boolean[] visibleEdges;
+    private final List<Integer> edgeWidths;
+
+    @Buildable
+    public Polygon(int x, int y, int[] xpoints, int[] ypoints, boolean[] visibleEdges, List<Integer> edgeWidths) {
+        this.x = x;
+        this.y = y;
+        this.xpoints = xpoints;
+        this.ypoints = ypoints;
+        this.visibleEdges = visibleEdges;
+        this.edgeWidths = edgeWidths;
+    }
+
+    @Override
+    public int getX() {
+        return x;
+    }
+
+    @Override
+    public int getY() {
+        return y;
+    }
+
+    public int[] getXpoints() {
+        return xpoints;
+    }
+
+    public int[] getYpoints() {
+        return ypoints;
+    }
+
+    public boolean[] getVisibleEdges() {
+        return visibleEdges;
+    }
+
+    public List<Integer> getEdgeWidths() {
+        return edgeWidths;
+    }
+}
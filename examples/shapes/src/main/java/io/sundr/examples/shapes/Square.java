@@ -25,7 +25,7 @@ public class Square implements Rectangle {
     private final int y;
     private final int height;
 
-    @Buildable(inline = {
+    @Buildable(reusable = true, inline = {
             @Inline(type = Createable.class, value = "create", prefix = "Createable"),
             @Inline(type = Updateable.class, value = "update", prefix = "Updateable"),
     })
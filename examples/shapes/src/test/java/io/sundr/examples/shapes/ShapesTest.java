@@ -16,10 +16,24 @@
 
 package io.sundr.examples.shapes;
 
+import io.sundr.builder.BaseFluent;
+import io.sundr.builder.BuilderPool;
+import io.sundr.builder.CompactList;
+import io.sundr.builder.ParallelVisitor;
+import io.sundr.builder.Traversal;
+import io.sundr.builder.TraversalVisitor;
+import io.sundr.builder.TypedVisitor;
+import io.sundr.builder.VisitResult;
 import io.sundr.builder.Visitor;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class ShapesTest {
 
     @Test
@@ -108,4 +122,358 @@ public class ShapesTest {
 
     }
 
+    @Test
+    public void testBuildCache() {
+        CanvasBuilder builder = new CanvasBuilder()
+                .addNewCircleShape()
+                .withX(0)
+                .withY(0)
+                .withRadius(10)
+                .and();
+
+        Canvas canvas = builder.build();
+        Assert.assertSame(canvas, builder.build());
+
+        builder.accept(new Visitor() {
+            @Override
+            public void visit(Object element) {
+                if (element instanceof CircleBuilder) {
+                    CircleBuilder circleBuilder = (CircleBuilder) element;
+                    circleBuilder.withRadius(100 + circleBuilder.getRadius());
+                }
+            }
+        });
+
+        Canvas modified = builder.build();
+        Assert.assertNotSame(canvas, modified);
+        Assert.assertEquals(10, ((Circle) canvas.getShapes().get(0)).getRadius());
+        Assert.assertEquals(110, ((Circle) modified.getShapes().get(0)).getRadius());
+    }
+
+    @Test
+    public void testWithReplacesVisitables() {
+        CanvasBuilder builder = new CanvasBuilder();
+        for (int i = 0; i < 10; i++) {
+            builder.withShapes(new Circle(0, 0, i), new Square(0, 0, i));
+        }
+
+        final AtomicInteger visited = new AtomicInteger();
+        builder.accept(new Visitor() {
+            @Override
+            public void visit(Object element) {
+                if (element instanceof CircleBuilder || element instanceof SquareBuilder) {
+                    visited.incrementAndGet();
+                }
+            }
+        });
+
+        Assert.assertEquals(2, visited.get());
+        Assert.assertEquals(2, builder.build().getShapes().size());
+    }
+
+    @Test
+    public void testTypedVisitor() {
+        CanvasBuilder builder = new CanvasBuilder()
+                .addToShapes(new Circle(0, 0, 10), new Square(0, 0, 10), new Circle(0, 0, 20));
+
+        final AtomicInteger visited = new AtomicInteger();
+        builder.accept(new TypedVisitor<CircleBuilder>() {
+            @Override
+            public Class<CircleBuilder> getType() {
+                return CircleBuilder.class;
+            }
+
+            @Override
+            public void visit(CircleBuilder element) {
+                visited.incrementAndGet();
+                element.withRadius(2 * element.getRadius());
+            }
+        });
+
+        Assert.assertEquals(2, visited.get());
+        Canvas canvas = builder.build();
+        Assert.assertEquals(20, ((Circle) canvas.getShapes().get(0)).getRadius());
+        Assert.assertEquals(40, ((Circle) canvas.getShapes().get(1)).getRadius());
+    }
+
+    @Test
+    public void testTraverse() {
+        CanvasBuilder builder = new CanvasBuilder()
+                .addToShapes(new Circle(0, 0, 10), new Circle(0, 0, 20), new Circle(0, 0, 30));
+
+        final List<Object> visited = new ArrayList<Object>();
+        TraversalVisitor untilSecondCircle = new TraversalVisitor<Object>() {
+            @Override
+            public VisitResult visit(Object element) {
+                visited.add(element);
+                if (element instanceof CircleBuilder && ((CircleBuilder) element).getRadius() == 20) {
+                    return VisitResult.TERMINATE;
+                }
+                return VisitResult.CONTINUE;
+            }
+        };
+
+        builder.traverse(untilSecondCircle, Traversal.PRE_ORDER);
+        Assert.assertEquals(3, visited.size());
+        Assert.assertSame(builder, visited.get(0));
+
+        visited.clear();
+        builder.traverse(untilSecondCircle, Traversal.POST_ORDER);
+        Assert.assertEquals(2, visited.size());
+        Assert.assertEquals(10, ((CircleBuilder) visited.get(0)).getRadius());
+
+        visited.clear();
+        builder.traverse(new TraversalVisitor<Object>() {
+            @Override
+            public VisitResult visit(Object element) {
+                visited.add(element);
+                return VisitResult.SKIP_SUBTREE;
+            }
+        }, Traversal.PRE_ORDER);
+        Assert.assertEquals(1, visited.size());
+    }
+
+    @Test
+    public void testEditSharesUnmodifiedObjects() {
+        Canvas canvas = new CanvasBuilder()
+                .addToShapes(new Circle(0, 0, 10), new Circle(0, 0, 20))
+                .build();
+
+        Assert.assertSame(canvas, ((EditableCanvas) canvas).edit().build());
+
+        Canvas edited = ((EditableCanvas) canvas).edit().accept(new TypedVisitor<CircleBuilder>() {
+            @Override
+            public Class<CircleBuilder> getType() {
+                return CircleBuilder.class;
+            }
+
+            @Override
+            public void visit(CircleBuilder element) {
+                if (element.getRadius() == 20) {
+                    element.withRadius(30);
+                }
+            }
+        }).build();
+
+        Assert.assertNotSame(canvas, edited);
+        Assert.assertSame(canvas.getShapes().get(0), edited.getShapes().get(0));
+        Assert.assertEquals(30, ((Circle) edited.getShapes().get(1)).getRadius());
+    }
+
+    @Test
+    public void testAddAllTo() {
+        List<Shape> shapes = new ArrayList<Shape>();
+        for (int i = 0; i < 100; i++) {
+            shapes.add(i % 2 == 0 ? new Circle(0, 0, i) : new Square(0, 0, i));
+        }
+
+        Canvas canvas = new CanvasBuilder()
+                .addToShapes(new Circle(0, 0, 1))
+                .addAllToShapes(shapes)
+                .build();
+
+        Assert.assertEquals(101, canvas.getShapes().size());
+    }
+
+    @Test
+    public void testCompactCollections() {
+        Canvas canvas = new CanvasBuilder()
+                .addToShapes(new Circle(0, 0, 10), new Square(0, 0, 10))
+                .build();
+        Assert.assertEquals(2, canvas.getShapes().size());
+        Assert.assertTrue(canvas.getShapes() instanceof CompactList);
+        try {
+            canvas.getShapes().add(new Circle(0, 0, 10));
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testReusableBuilder() {
+        BuilderPool<SquareBuilder> pool = new BuilderPool<SquareBuilder>(SquareBuilder.class);
+        SquareBuilder builder = pool.acquire();
+        Square square = builder.withX(1).withY(2).withHeight(3).build();
+        Assert.assertEquals(3, square.getHeight());
+
+        pool.release(builder);
+        SquareBuilder reused = pool.acquire();
+        Assert.assertSame(builder, reused);
+        Assert.assertEquals(0, reused.getX());
+        Assert.assertEquals(0, reused.getHeight());
+        Assert.assertNotSame(builder, pool.acquire());
+    }
+
+    @Test
+    public void testParallelVisitor() {
+        CanvasBuilder builder = new CanvasBuilder();
+        for (int i = 0; i < 2 * BaseFluent.PARALLEL_THRESHOLD; i++) {
+            builder.addToShapes(new Circle(0, 0, 10));
+        }
+
+        final AtomicInteger visited = new AtomicInteger();
+        final AtomicInteger visitedBeforeCanvas = new AtomicInteger(-1);
+        builder.accept(new ParallelVisitor<Object>() {
+            @Override
+            public void visit(Object element) {
+                if (element instanceof CanvasBuilder) {
+                    visitedBeforeCanvas.set(visited.get());
+                } else if (element instanceof CircleBuilder) {
+                    visited.incrementAndGet();
+                }
+            }
+        });
+
+        Assert.assertEquals(2 * BaseFluent.PARALLEL_THRESHOLD, visited.get());
+        Assert.assertEquals(2 * BaseFluent.PARALLEL_THRESHOLD, visitedBeforeCanvas.get());
+    }
+
+    @Test
+    public void testParallelVisitorOnSmallTree() {
+        CanvasBuilder builder = new CanvasBuilder()
+                .addToShapes(new Circle(0, 0, 10))
+                .addToShapes(new Square(0, 0, 10));
+
+        final Thread caller = Thread.currentThread();
+        final AtomicInteger visitedElsewhere = new AtomicInteger();
+        final AtomicInteger visited = new AtomicInteger();
+        builder.accept(new ParallelVisitor<Object>() {
+            @Override
+            public void visit(Object element) {
+                visited.incrementAndGet();
+                if (Thread.currentThread() != caller) {
+                    visitedElsewhere.incrementAndGet();
+                }
+            }
+        });
+
+        Assert.assertEquals(3, visited.get());
+        Assert.assertEquals(0, visitedElsewhere.get());
+    }
+
+    @Test
+    public void testPrimitiveArrays() throws NoSuchFieldException {
+        PolygonBuilder builder = new PolygonBuilder()
+                .withXpoints(0, 10)
+                .addToXpoints(10)
+                .withYpoints(0, 0, 10)
+                .addToVisibleEdges(true, false)
+                .addToVisibleEdges(true);
+
+        Polygon polygon = builder.build();
+        Assert.assertArrayEquals(new int[]{0, 10, 10}, polygon.getXpoints());
+        Assert.assertArrayEquals(new int[]{0, 0, 10}, polygon.getYpoints());
+        Assert.assertTrue(Arrays.equals(new boolean[]{true, false, true}, polygon.getVisibleEdges()));
+
+        //The built object doesn't share the storage of the builder.
+        builder.addToXpoints(20);
+        Assert.assertArrayEquals(new int[]{0, 10, 10}, polygon.getXpoints());
+        Assert.assertArrayEquals(new int[]{0, 10, 10, 20}, builder.build().getXpoints());
+        Assert.assertEquals(int[].class, PolygonFluent.class.getDeclaredField("xpoints").getType());
+        Assert.assertEquals(boolean[].class, PolygonFluent.class.getDeclaredField("visibleEdges").getType());
+    }
+
+    @Test
+    public void testPrimitiveList() throws NoSuchFieldException {
+        PolygonBuilder builder = new PolygonBuilder()
+                .addPrimitivesToEdgeWidths(1, 2)
+                .addToEdgeWidths(3);
+
+        List<Integer> widths = builder.getEdgeWidths();
+        widths.add(4);
+        widths.set(0, 5);
+        widths.remove(1);
+        Assert.assertEquals(Arrays.asList(5, 3, 4), widths);
+
+        Polygon polygon = builder.build();
+        Assert.assertEquals(Arrays.asList(5, 3, 4), polygon.getEdgeWidths());
+
+        for (int i = 0; i < 100; i++) {
+            builder.addPrimitivesToEdgeWidths(i);
+        }
+        Assert.assertEquals(3, polygon.getEdgeWidths().size());
+        Assert.assertEquals(103, builder.build().getEdgeWidths().size());
+        Assert.assertEquals(Arrays.asList(5, 3, 4), new PolygonBuilder(polygon).build().getEdgeWidths());
+        Assert.assertEquals(int[].class, PolygonFluent.class.getDeclaredField("edgeWidths").getType());
+    }
+
+    @Test
+    public void testMutationThroughGettersDiscardsCachedBuild() {
+        LayerBuilder b = new LayerBuilder()
+                .withName("layer")
+                .addToTags("first")
+                .addToCounts(1);
+
+        Set<String> tags = b.getTags();
+        List<Integer> counts = b.getCounts();
+        Layer built = b.build();
+        tags.add("later");
+        counts.add(2);
+
+        Layer rebuilt = b.build();
+        Assert.assertNotSame(built, rebuilt);
+        Assert.assertTrue(rebuilt.getTags().contains("later"));
+        Assert.assertEquals(Arrays.asList(1, 2), rebuilt.getCounts());
+    }
+
+    @Test
+    public void testReadsKeepCachedBuild() {
+        LayerBuilder b = new LayerBuilder()
+                .withName("layer")
+                .addToTags("first")
+                .addToCounts(1)
+                .addToProperties("color", "red");
+
+        Layer built = b.build();
+        Assert.assertTrue(b.getTags().contains("first"));
+        Assert.assertEquals(Arrays.asList(1), b.getCounts());
+        Assert.assertEquals("red", b.getProperties().get("color"));
+        Assert.assertSame(built, b.build());
+
+        b.getProperties().put("color", "blue");
+        Layer rebuilt = b.build();
+        Assert.assertNotSame(built, rebuilt);
+        Assert.assertEquals("blue", rebuilt.getProperties().get("color"));
+    }
+
+    @Test
+    public void testReadsOnCopiedBuilderReturnSameInstance() {
+        Layer layer = new LayerBuilder()
+                .withName("layer")
+                .addToTags("first")
+                .addToProperties("color", "red")
+                .build();
+
+        LayerBuilder b = new LayerBuilder(layer);
+        Assert.assertTrue(b.getTags().contains("first"));
+        Assert.assertEquals("red", b.getProperties().get("color"));
+        Assert.assertSame(layer, b.build());
+    }
+
+    @Test
+    public void testEditCopiesNestedBuildersOnAccess() {
+        Canvas canvas = new CanvasBuilder()
+                .addToShapes(new Circle(0, 0, 10), new Square(0, 0, 20))
+                .build();
+
+        CanvasBuilder builder = new CanvasBuilder(canvas);
+        Assert.assertTrue(builder.circleShapes.isEmpty());
+        Assert.assertSame(canvas, builder.build());
+
+        Assert.assertEquals(2, builder.getShapes().size());
+        CircleBuilder circle = (CircleBuilder) builder.circleShapes.get(0);
+        Assert.assertEquals(0, circle.radius);
+        Assert.assertSame(canvas, builder.build());
+
+        Assert.assertEquals(10, circle.getRadius());
+        Assert.assertSame(canvas, builder.build());
+
+        circle.withRadius(15);
+        Canvas edited = builder.build();
+        Assert.assertNotSame(canvas, edited);
+        Assert.assertSame(canvas.getShapes().get(1), edited.getShapes().get(1));
+        Assert.assertEquals(15, ((Circle) edited.getShapes().get(0)).getRadius());
+    }
+
 }